@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.Cosc310BigInt.skraoofi0.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks the same way {@link org.openjdk.jmh.Main} does except
+ * that results are written as JSON to {@code jmh-result.json} unless the
+ * command line says otherwise, so that runs can be diffed.
+ *
+ * @author Kevin Raoofi
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.shouldHelp()) {
+            cmd.showHelp();
+            return;
+        }
+        final ChainedOptionsBuilder options = new OptionsBuilder().parent(cmd);
+        if (!cmd.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cmd.getResult().hasValue()) {
+            options.result("jmh-result.json");
+        }
+        final Runner runner = new Runner(options.build());
+        if (cmd.shouldList()) {
+            runner.list();
+        } else {
+            runner.run();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.Cosc310BigInt.skraoofi0.benchmarks;
+
+import edu.frostburg.Cosc310BigInt.skraoofi0.BigInt;
+import edu.frostburg.Cosc310BigInt.skraoofi0.BigIntArray;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link BigIntArray} with the same operands and operations as
+ * {@link BigIntListBenchmark} so the two engines can be compared directly.
+ *
+ * @author Kevin Raoofi
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BigIntArrayBenchmark {
+
+    /**
+     * The number of digits in each operand
+     */
+    @Param({"10", "100", "1000", "10000", "100000", "1000000"})
+    public int digits;
+
+    private String text;
+    private BigIntArray a;
+    private BigIntArray b;
+
+    @Setup
+    public void setup() {
+        text = Operands.randomDigits(digits, false, 310);
+        a = new BigIntArray(text);
+        b = new BigIntArray(Operands.randomDigits(digits, true, 311));
+    }
+
+    @Benchmark
+    public BigInt add() {
+        return a.add(b);
+    }
+
+    @Benchmark
+    public BigInt subtract() {
+        return a.subtract(b);
+    }
+
+    @Benchmark
+    public BigInt multiply() {
+        return a.multiply(b);
+    }
+
+    @Benchmark
+    public BigInt multiplyInt() {
+        return a.multiply(123456789);
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return a.compareTo(b);
+    }
+
+    @Benchmark
+    public String toText() {
+        return a.toString();
+    }
+
+    @Benchmark
+    public BigInt parse() {
+        return new BigIntArray(text);
+    }
+}
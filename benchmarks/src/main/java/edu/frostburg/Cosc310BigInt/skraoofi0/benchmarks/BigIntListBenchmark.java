@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.Cosc310BigInt.skraoofi0.benchmarks;
+
+import edu.frostburg.Cosc310BigInt.skraoofi0.BigInt;
+import edu.frostburg.Cosc310BigInt.skraoofi0.BigIntList;
+import edu.frostburg.Cosc310BigInt.skraoofi0.LinkedList;
+import edu.frostburg.Cosc310BigInt.skraoofi0.ListFactory;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link BigIntList} over each List implementation it can be backed
+ * by. Both operands have the same number of digits and different signs, so
+ * add and subtract exercise both the borrowing and the carrying paths.
+ *
+ * @author Kevin Raoofi
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BigIntListBenchmark {
+
+    /**
+     * The List implementation handed to {@link ListFactory}, or "unrolled" or
+     * "recycling" for the project LinkedList with 64 elements per node
+     */
+    @Param({"edu.frostburg.Cosc310BigInt.skraoofi0.LinkedList",
+        "unrolled", "recycling",
+        "edu.frostburg.Cosc310BigInt.skraoofi0.ByteList",
+        "java.util.ArrayList", "java.util.LinkedList"})
+    public String backend;
+
+    /**
+     * The number of digits in each operand
+     */
+    @Param({"10", "100", "1000", "10000", "100000", "1000000"})
+    public int digits;
+
+    private ListFactory factory;
+    private String text;
+    private BigIntList a;
+    private BigIntList b;
+
+    @Setup
+    public void setup() throws ClassNotFoundException {
+        switch (backend) {
+            case "unrolled":
+                factory = new ListFactory(() -> LinkedList.unrolled(64));
+                break;
+            case "recycling":
+                factory = new ListFactory(() -> LinkedList.recycling(64));
+                break;
+            default:
+                factory = new ListFactory(backend);
+        }
+        text = Operands.randomDigits(digits, false, 310);
+        a = new BigIntList(text, factory);
+        b = new BigIntList(Operands.randomDigits(digits, true, 311), factory);
+    }
+
+    @Benchmark
+    public BigInt add() {
+        return a.add(b);
+    }
+
+    @Benchmark
+    public BigInt subtract() {
+        return a.subtract(b);
+    }
+
+    @Benchmark
+    public BigInt multiply() {
+        return a.multiply(b);
+    }
+
+    @Benchmark
+    public BigInt multiplyInt() {
+        return a.multiply(123456789);
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return a.compareTo(b);
+    }
+
+    @Benchmark
+    public String toText() {
+        return a.toString();
+    }
+
+    @Benchmark
+    public BigInt parse() {
+        return new BigIntList(text, factory);
+    }
+}
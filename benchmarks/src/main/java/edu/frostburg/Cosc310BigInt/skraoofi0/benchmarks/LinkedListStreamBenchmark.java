@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.Cosc310BigInt.skraoofi0.benchmarks;
+
+import edu.frostburg.Cosc310BigInt.skraoofi0.LinkedList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sums 10 million elements of a {@link LinkedList} with sequential and
+ * parallel streams. Comparing the two, or running with different numbers of
+ * cores available, shows how well its spliterator divides the work.
+ *
+ * @author Kevin Raoofi
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkedListStreamBenchmark {
+
+    /**
+     * The most elements each node holds
+     */
+    @Param({"1", "64"})
+    public int nodeCapacity;
+
+    private LinkedList<Integer> list;
+
+    @Setup
+    public void setup() {
+        list = LinkedList.unrolled(nodeCapacity);
+        for (int i = 0; i < 10000000; i++) {
+            list.add(i & 127);
+        }
+    }
+
+    @Benchmark
+    public long sequentialSum() {
+        return list.stream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long parallelSum() {
+        return list.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+}
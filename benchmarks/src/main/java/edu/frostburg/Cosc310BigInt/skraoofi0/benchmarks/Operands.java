@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.Cosc310BigInt.skraoofi0.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Creates the operands every benchmark works on. A fixed seed keeps the
+ * operands identical between runs so results can be compared.
+ *
+ * @author Kevin Raoofi
+ */
+final class Operands {
+
+    private Operands() {
+    }
+
+    /**
+     * Creates a random decimal number with exactly the given number of digits.
+     *
+     * @param digits   number of digits
+     * @param negative whether to put a '-' in front
+     * @param seed     seed for the digits
+     * @return the number
+     */
+    static String randomDigits(final int digits, final boolean negative,
+            final long seed) {
+        final Random r = new Random(seed);
+        final StringBuilder sb = new StringBuilder(digits + 1);
+        if (negative) {
+            sb.append('-');
+        }
+        sb.append((char) ('1' + r.nextInt(9)));
+        for (int i = 1; i < digits; i++) {
+            sb.append((char) ('0' + r.nextInt(10)));
+        }
+        return sb.toString();
+    }
+}
@@ -52,6 +52,47 @@ public interface BigInt extends Comparable<BigInt> {
      */
     BigInt multiply(int o);
 
+    /**
+     * Multiplies big integer with a regular int and adds another int to the
+     * product
+     *
+     * @param m integer to multiply this big integer with
+     * @param a integer to add to the product
+     * @return this * m + a
+     */
+    BigInt multiplyAdd(int m, int a);
+
+    /**
+     * Divides this by the given value, truncating towards zero
+     *
+     * @param o the divisor
+     * @return the quotient
+     * @throws ArithmeticException if o is zero
+     */
+    BigInt divide(BigInt o);
+
+    /**
+     * Finds the remainder of dividing this by the given value. The remainder
+     * has the same sign as this, so this equals
+     * {@code divide(o).multiply(o).add(remainder(o))}.
+     *
+     * @param o the divisor
+     * @return the remainder
+     * @throws ArithmeticException if o is zero
+     */
+    BigInt remainder(BigInt o);
+
+    /**
+     * Divides this by the given value and finds the remainder at once. This is
+     * cheaper than calling {@link #divide(BigInt)} and
+     * {@link #remainder(BigInt)} separately.
+     *
+     * @param o the divisor
+     * @return an array holding the quotient followed by the remainder
+     * @throws ArithmeticException if o is zero
+     */
+    BigInt[] divideAndRemainder(BigInt o);
+
     /**
      * Returns this with its sign flipped
      *
@@ -75,4 +116,19 @@ public interface BigInt extends Comparable<BigInt> {
      */
     boolean isPositive();
 
+    /**
+     * Finds the sign of the number in constant time
+     *
+     * @return -1, 0, or 1 for negative, zero, or positive values
+     */
+    int signum();
+
+    /**
+     * Counts the decimal digits of the number in constant time, ignoring the
+     * sign and any leading zeros
+     *
+     * @return the number of digits; 1 for zero
+     */
+    int digitCount();
+
 }
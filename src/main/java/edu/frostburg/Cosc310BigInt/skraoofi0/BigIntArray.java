@@ -0,0 +1,506 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.Cosc310BigInt.skraoofi0;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A BigInt implementation backed by a primitive array rather than a List.
+ *
+ * The magnitude is held in an {@code int[]} of base 10<sup>9</sup> limbs with
+ * the least significant limb first, and the sign is held separately. This
+ * takes roughly 4 bytes for every 9 digits, compared to a whole list node per
+ * digit for {@link BigIntList}, and every digit access is an array access.
+ *
+ * Instances are immutable.
+ *
+ * @author Kevin Raoofi
+ */
+public class BigIntArray extends Number implements BigInt {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constant value for 0
+     */
+    public static final BigIntArray ZERO = new BigIntArray(0, Limbs.ZERO);
+    /**
+     * Constant value for 1
+     */
+    public static final BigIntArray ONE = new BigIntArray(1);
+    /**
+     * Constant value for -1
+     */
+    public static final BigIntArray NEGATIVE_ONE = new BigIntArray(-1);
+
+    /**
+     * The most bytes of a file mapped at once by
+     * {@link #read(java.nio.channels.FileChannel, long, long)}. It may be
+     * tuned with the system property {@code edu.frostburg.bigint.mapWindow}.
+     */
+    static int mapWindow = Integer.getInteger("edu.frostburg.bigint.mapWindow",
+            1 << 26);
+
+    /**
+     * -1, 0, or 1 for negative, zero, or positive values
+     */
+    private final int signum;
+
+    /**
+     * The trimmed magnitude of the value. See {@link Limbs}.
+     */
+    private final int[] mag;
+
+    /**
+     * The hash code, or 0 until it is first asked for
+     */
+    private int hash;
+
+    /**
+     * Constructor that initializes to 0. The preferred way to get 0 is to use
+     * the constant {@link #ZERO}.
+     */
+    public BigIntArray() {
+        this(0, Limbs.ZERO);
+    }
+
+    /**
+     * Creates an object using the given value
+     *
+     * @param i the integer to convert
+     */
+    public BigIntArray(final int i) {
+        this(Integer.signum(i), Limbs.multiply(new int[]{1}, Math.abs(
+                (long) i)));
+    }
+
+    /**
+     * Creates an object using a String. The String may start with a '-' or '+'
+     * and must otherwise only contain digits.
+     *
+     * @param s string representation of object
+     * @throws NumberFormatException if the String contains values which are
+     * invalid
+     */
+    public BigIntArray(final String s) throws NumberFormatException {
+        final boolean hasSign = !s.isEmpty()
+                && (s.charAt(0) == '-' || s.charAt(0) == '+');
+        final int[] parsed = Limbs.parse(s, hasSign ? 1 : 0, s.length());
+        this.mag = parsed;
+        if (parsed.length == 0) {
+            this.signum = 0;
+        } else {
+            this.signum = s.charAt(0) == '-' ? -1 : 1;
+        }
+    }
+
+    /**
+     * Internal constructor which takes ownership of an already trimmed
+     * magnitude.
+     *
+     * @param signum the sign; ignored if mag is zero
+     * @param mag    trimmed magnitude
+     */
+    private BigIntArray(final int signum, final int[] mag) {
+        this.signum = mag.length == 0 ? 0 : signum;
+        this.mag = mag;
+    }
+
+    /**
+     * Converts any BigInt into this implementation.
+     *
+     * @param o the value to convert
+     * @return o if it already is a BigIntArray; otherwise, a new equivalent
+     * instance
+     */
+    static BigIntArray of(final BigInt o) {
+        if (o instanceof BigIntArray) {
+            return (BigIntArray) o;
+        }
+        return new BigIntArray(o.toString());
+    }
+
+    /**
+     * Exposes the magnitude without copying it so other implementations can
+     * read it. It must not be modified.
+     *
+     * @return the trimmed magnitude; see {@link Limbs}
+     */
+    int[] magnitude() {
+        return mag;
+    }
+
+    /**
+     * Converts a BigInteger without going through its decimal String, which
+     * BigInteger builds in quadratic time.
+     *
+     * @param value the value to convert
+     * @return the value as a BigIntArray
+     */
+    public static BigIntArray valueOf(final BigInteger value) {
+        return new BigIntArray(value.signum(), RadixConversion.fromBigInteger(
+                value));
+    }
+
+    /**
+     * Reads a value written in ASCII digits from a whole file; see
+     * {@link #read(java.nio.channels.FileChannel, long, long)}.
+     *
+     * @param file the file holding the value
+     * @return the value
+     * @throws IOException           if the file can't be read
+     * @throws NumberFormatException if the file doesn't hold a number
+     */
+    public static BigIntArray read(final Path file) throws IOException,
+            NumberFormatException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            return read(channel, 0, channel.size());
+        }
+    }
+
+    /**
+     * Reads a value written in ASCII digits straight out of part of a file.
+     * The region is memory mapped a window at a time and its digits are
+     * packed into limbs as they are read, so the only memory needed beyond the
+     * mapping is the value itself, about 0.45 bytes per digit, rather than a
+     * String and a byte array of the digits first.
+     *
+     * The digits may have a leading '-' or '+', and whitespace around them is
+     * ignored, so a region can end with a line break.
+     *
+     * @param channel  the file
+     * @param position where in the file the region starts
+     * @param length   the number of bytes in the region
+     * @return the value
+     * @throws IOException           if the file can't be read
+     * @throws NumberFormatException if the region doesn't hold a number
+     */
+    public static BigIntArray read(final FileChannel channel,
+            final long position, final long length) throws IOException,
+            NumberFormatException {
+        final MappedRegion region = new MappedRegion(channel);
+        long start = position;
+        long end = position + length;
+        while (start < end && region.get(start) <= ' ') {
+            start++;
+        }
+        while (end > start && region.get(end - 1) <= ' ') {
+            end--;
+        }
+        int sign = 1;
+        if (start < end && (region.get(start) == '-' || region.get(start)
+                == '+')) {
+            sign = region.get(start) == '-' ? -1 : 1;
+            start++;
+        }
+        if (start == end) {
+            throw new NumberFormatException("No digits at position: "
+                    + position);
+        }
+        while (start < end - 1 && region.get(start) == '0') {
+            start++;
+        }
+
+        final long digits = end - start;
+        if (digits > (long) Integer.MAX_VALUE * Limbs.BASE_DIGITS) {
+            throw new NumberFormatException("Too many digits: " + digits);
+        }
+        final int[] mag = new int[(int) ((digits + Limbs.BASE_DIGITS - 1)
+                / Limbs.BASE_DIGITS)];
+        // the top limb takes whatever is left over from full limbs
+        int limb = mag.length - 1;
+        int take = (int) ((digits - 1) % Limbs.BASE_DIGITS) + 1;
+        int value = 0;
+        for (long p = start; p < end; p++) {
+            final int digit = region.get(p) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException(
+                        "Unsupported character first found at position: "
+                        + p);
+            }
+            value = value * 10 + digit;
+            if (--take == 0) {
+                mag[limb--] = value;
+                value = 0;
+                take = Limbs.BASE_DIGITS;
+            }
+        }
+        return new BigIntArray(sign, Limbs.trim(mag));
+    }
+
+    /**
+     * Reads bytes of a file through a memory mapped window which is moved
+     * whenever a byte outside of it is asked for
+     */
+    private static final class MappedRegion {
+
+        private final FileChannel channel;
+        private MappedByteBuffer window;
+        private long base;
+        private int limit;
+
+        MappedRegion(final FileChannel channel) {
+            this.channel = channel;
+        }
+
+        byte get(final long p) throws IOException {
+            if (p < base || p >= base + limit) {
+                base = p - p % mapWindow;
+                limit = (int) Math.min(mapWindow, channel.size() - base);
+                if (limit <= 0) {
+                    throw new EOFException("Position " + p
+                            + " is past the end of the file");
+                }
+                window = channel.map(FileChannel.MapMode.READ_ONLY, base,
+                        limit);
+            }
+            return window.get((int) (p - base));
+        }
+    }
+
+    /**
+     * Converts this to a BigInteger without going through a decimal String,
+     * which BigInteger parses in quadratic time.
+     *
+     * @return the value as a BigInteger
+     */
+    public BigInteger toBigInteger() {
+        final BigInteger abs = RadixConversion.toBigInteger(mag);
+        return signum < 0 ? abs.negate() : abs;
+    }
+
+    @Override
+    public BigIntArray add(final BigInt other) {
+        final BigIntArray o = of(other);
+        if (o.signum == 0) {
+            return this;
+        }
+        if (signum == 0) {
+            return o;
+        }
+        if (signum == o.signum) {
+            return new BigIntArray(signum, Limbs.add(mag, o.mag));
+        }
+        final int cmp = Limbs.compare(mag, o.mag);
+        if (cmp == 0) {
+            return ZERO;
+        }
+        return cmp > 0
+                ? new BigIntArray(signum, Limbs.subtract(mag, o.mag))
+                : new BigIntArray(o.signum, Limbs.subtract(o.mag, mag));
+    }
+
+    @Override
+    public BigIntArray subtract(final BigInt o) {
+        return add(of(o).negate());
+    }
+
+    @Override
+    public BigIntArray multiply(final BigInt other) {
+        final BigIntArray o = of(other);
+        if (signum == 0 || o.signum == 0) {
+            return ZERO;
+        }
+        return new BigIntArray(signum * o.signum, Multiplication.multiply(mag,
+                o.mag));
+    }
+
+    @Override
+    public BigIntArray multiply(final int o) {
+        if (signum == 0 || o == 0) {
+            return ZERO;
+        }
+        return new BigIntArray(signum * Integer.signum(o), Limbs.multiply(mag,
+                Math.abs((long) o)));
+    }
+
+    /**
+     * Computes this * m + a. When the product and the addend have the same
+     * sign, the addend is folded into the carry of a single pass.
+     *
+     * @param m the multiplier
+     * @param a the addend
+     * @return this * m + a
+     */
+    @Override
+    public BigIntArray multiplyAdd(final int m, final int a) {
+        final int productSign = signum * Integer.signum(m);
+        if (productSign == 0) {
+            return new BigIntArray(a);
+        }
+        if (productSign == Integer.signum(a) || a == 0) {
+            return new BigIntArray(productSign, Limbs.multiplyAdd(mag, Math
+                    .abs((long) m), Math.abs((long) a)));
+        }
+        return multiply(m).add(new BigIntArray(a));
+    }
+
+    @Override
+    public BigIntArray divide(final BigInt o) {
+        return divideAndRemainder(o)[0];
+    }
+
+    @Override
+    public BigIntArray remainder(final BigInt o) {
+        return divideAndRemainder(o)[1];
+    }
+
+    @Override
+    public BigIntArray[] divideAndRemainder(final BigInt other) {
+        final BigIntArray o = of(other);
+        final int[][] qr = Division.divideAndRemainder(mag, o.mag);
+        return new BigIntArray[]{new BigIntArray(signum * o.signum, qr[0]),
+            new BigIntArray(signum, qr[1])};
+    }
+
+    @Override
+    public BigIntArray negate() {
+        return signum == 0 ? this : new BigIntArray(-signum, mag);
+    }
+
+    @Override
+    public BigIntArray abs() {
+        return signum < 0 ? negate() : this;
+    }
+
+    @Override
+    public boolean isPositive() {
+        return signum >= 0;
+    }
+
+    @Override
+    public int signum() {
+        return signum;
+    }
+
+    @Override
+    public int digitCount() {
+        if (mag.length == 0) {
+            return 1;
+        }
+        int top = mag[mag.length - 1];
+        int digits = (mag.length - 1) * Limbs.BASE_DIGITS;
+        do {
+            digits++;
+            top /= 10;
+        } while (top != 0);
+        return digits;
+    }
+
+    @Override
+    public int intValue() {
+        return (int) longValue();
+    }
+
+    /**
+     * Returns the low-order 64 bits of the value, the same way a narrowing
+     * primitive conversion would.
+     *
+     * @return the value as a long
+     */
+    @Override
+    public long longValue() {
+        long result = 0;
+        for (int i = mag.length - 1; i >= 0; i--) {
+            result = result * Limbs.BASE + mag[i];
+        }
+        return signum < 0 ? -result : result;
+    }
+
+    @Override
+    public float floatValue() {
+        return (float) doubleValue();
+    }
+
+    @Override
+    public double doubleValue() {
+        if (mag.length <= 2) {
+            return longValue();
+        }
+        // three limbs carry more precision than a double can hold
+        final StringBuilder sb = new StringBuilder(40);
+        if (signum < 0) {
+            sb.append('-');
+        }
+        Limbs.toString(Arrays.copyOfRange(mag, mag.length - 3, mag.length),
+                sb);
+        sb.append('E').append((long) (mag.length - 3) * Limbs.BASE_DIGITS);
+        return Double.parseDouble(sb.toString());
+    }
+
+    @Override
+    public int compareTo(final BigInt other) {
+        if (other instanceof BigIntList) {
+            // it reads our limbs directly rather than either side converting
+            return -other.compareTo(this);
+        }
+        final BigIntArray o = of(other);
+        if (signum != o.signum) {
+            return signum < o.signum ? -1 : 1;
+        }
+        final int cmp = Limbs.compare(mag, o.mag);
+        return signum < 0 ? -cmp : cmp;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder(mag.length
+                * Limbs.BASE_DIGITS + 1);
+        if (signum < 0) {
+            sb.append('-');
+        }
+        return Limbs.toString(mag, sb).toString();
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = 5;
+            h = 83 * h + this.signum;
+            h = 83 * h + Arrays.hashCode(this.mag);
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final BigIntArray other = (BigIntArray) obj;
+        if (hash != 0 && other.hash != 0 && hash != other.hash) {
+            return false;
+        }
+        if (this.signum != other.signum) {
+            return false;
+        }
+        return Arrays.equals(this.mag, other.mag);
+    }
+
+}
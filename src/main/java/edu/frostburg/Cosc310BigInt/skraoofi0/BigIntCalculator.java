@@ -16,30 +16,99 @@
 package edu.frostburg.Cosc310BigInt.skraoofi0;
 
 import edu.frostburg.cosc310.Cosc310BigIntCalculator;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 
 /**
- * This acts as a facade for the manipulations done by the {@link BigIntList}
- * class. It accepts two String representations of big integers for each
- * operation, calculate the result, and return the string representation of the
- * result.
+ * This acts as a facade for the manipulations done by a {@link BigInt}
+ * implementation. It accepts two String representations of big integers for
+ * each operation, calculate the result, and return the string representation of
+ * the result.
+ *
+ * One could select which BigInt implementation by passing in its
+ * {@link Class} object; otherwise, {@link BigIntList} is used.
  *
  * @author Kevin Raoofi
  */
 public class BigIntCalculator implements Cosc310BigIntCalculator {
 
+    /**
+     * String constructor of the BigInt implementation
+     */
+    private final Constructor<? extends BigInt> strCon;
+
+    /**
+     * Defaults to {@link BigIntList}
+     */
+    public BigIntCalculator() {
+        this(BigIntList.class);
+    }
+
+    /**
+     * Constructor which takes a class object. Note that if you pass in a class
+     * which does not have a constructor taking a single String, it will be
+     * thrown as a {@link RuntimeException}.
+     *
+     * @param implementation the BigInt implementation to calculate with
+     */
+    public BigIntCalculator(Class<? extends BigInt> implementation) {
+        try {
+            strCon = implementation.getConstructor(String.class);
+        } catch (NoSuchMethodException | SecurityException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * Creates an instance of the BigInt implementation
+     *
+     * @param s string representation of the value
+     * @return the value as a BigInt
+     * @throws NumberFormatException if the String contains values which are
+     * invalid
+     */
+    private BigInt parse(String s) throws NumberFormatException {
+        try {
+            return strCon.newInstance(s);
+        } catch (InvocationTargetException ex) {
+            if (ex.getCause() instanceof NumberFormatException) {
+                throw (NumberFormatException) ex.getCause();
+            }
+            throw new RuntimeException(ex);
+        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
     @Override
     public String add(String a, String b) {
-        return new BigIntList(a).add(new BigIntList(b)).toString();
+        return parse(a).add(parse(b)).toString();
     }
 
     @Override
     public String subtract(String a, String b) {
-        return new BigIntList(a).subtract(new BigIntList(b)).toString();
+        return parse(a).subtract(parse(b)).toString();
     }
 
     @Override
     public String multiply(String a, String b) {
-        return new BigIntList(a).multiply(new BigIntList(b)).toString();
+        return parse(a).multiply(parse(b)).toString();
+    }
+
+    @Override
+    public String divide(String a, String b) {
+        return parse(a).divide(parse(b)).toString();
+    }
+
+    @Override
+    public String remainder(String a, String b) {
+        return parse(a).remainder(parse(b)).toString();
+    }
+
+    @Override
+    public String[] divideAndRemainder(String a, String b) {
+        final BigInt[] qr = parse(a).divideAndRemainder(parse(b));
+        return new String[]{qr[0].toString(), qr[1].toString()};
     }
 
 }
@@ -25,8 +25,7 @@ import java.util.logging.Logger;
 /**
  * This is the BigInt implementation. It uses a regular Java List to do all data
  * storage and can be made to work with standard Java collections. This allows
- * the use of signed values and can add, subtract, or multiply. However, it
- * cannot do division.
+ * the use of signed values and can add, subtract, multiply, or divide.
  *
  * @author Kevin Raoofi
  */
@@ -36,10 +35,11 @@ public class BigIntList extends Number implements BigInt {
             .getName());
 
     /**
-     * Responsible for creating List implementation instances. You can switch
-     * this to using standard java collections
+     * Responsible for creating List implementation instances unless another
+     * factory is given to the constructor. You can switch this to using
+     * standard java collections
      */
-    private static final ListFactory factory = new ListFactory(
+    private static final ListFactory DEFAULT_FACTORY = new ListFactory(
             edu.frostburg.Cosc310BigInt.skraoofi0.LinkedList.class);
 
     /**
@@ -55,6 +55,52 @@ public class BigIntList extends Number implements BigInt {
      */
     public static final BigInt NEGATIVE_ONE = new BigIntList(-1);
 
+    /**
+     * The largest {@link #CACHE_LIMIT} that may be configured
+     */
+    static final int MAX_CACHE_LIMIT = 1 << 16;
+
+    /**
+     * {@link #valueOf(long)} hands out shared instances for every value from
+     * -CACHE_LIMIT to CACHE_LIMIT. It may be tuned with the system property
+     * {@code edu.frostburg.bigint.valueCacheLimit}; see
+     * {@link #cacheLimit(int)} for the values allowed.
+     */
+    static final int CACHE_LIMIT = cacheLimit(Integer.getInteger(
+            "edu.frostburg.bigint.valueCacheLimit", 1024));
+
+    /**
+     * The shared instances; value v is at index v + CACHE_LIMIT
+     */
+    private static final BigIntList[] CACHE = new BigIntList[2 * CACHE_LIMIT
+            + 1];
+
+    static {
+        for (int v = -CACHE_LIMIT; v <= CACHE_LIMIT; v++) {
+            CACHE[v + CACHE_LIMIT] = new BigIntList(v);
+        }
+        CACHE[CACHE_LIMIT] = ZERO;
+        CACHE[CACHE_LIMIT + 1] = (BigIntList) ONE;
+        CACHE[CACHE_LIMIT - 1] = (BigIntList) NEGATIVE_ONE;
+    }
+
+    /**
+     * Checks a configured cache limit. At least -1, 0 and 1 are always
+     * cached, and the cache is never made bigger than
+     * {@link #MAX_CACHE_LIMIT} values either side of zero.
+     *
+     * @param limit the configured limit
+     * @return the limit clamped to [1, {@link #MAX_CACHE_LIMIT}]
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    static int cacheLimit(final int limit) throws IllegalArgumentException {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Negative value cache limit: "
+                    + limit);
+        }
+        return Math.min(MAX_CACHE_LIMIT, Math.max(1, limit));
+    }
+
     /**
      * This is the charset used to decode a String to bytes. I need to assume
      * ASCII as I'm doing arithmetic to convert from char to byte
@@ -90,13 +136,42 @@ public class BigIntList extends Number implements BigInt {
      */
     private final List<Byte> backing;
 
+    /**
+     * Creates the backing of this and of every result computed from this
+     */
+    private final ListFactory factory;
+
+    /**
+     * -1, 0, or 1 for negative, zero, or positive values
+     */
+    private final int signum;
+
+    /**
+     * The number of significant digits; 1 for zero
+     */
+    private final int digitCount;
+
+    /**
+     * The hash code, or 0 until it is first asked for
+     */
+    private int hash;
+
     /**
      * Constructor that initializes to 0. The preferred way to get 0 is to use
      * the constant {@link #ZERO}.
      */
     public BigIntList() {
-        backing = factory.create();
-        backing.add((byte) 0);
+        this(DEFAULT_FACTORY);
+    }
+
+    /**
+     * Constructor that initializes to 0 with the given List implementation.
+     *
+     * @param factory creates the backing of this and of every result computed
+     *                from this
+     */
+    public BigIntList(final ListFactory factory) {
+        this(factory, backingOf(factory, 0), true);
     }
 
     /**
@@ -105,25 +180,67 @@ public class BigIntList extends Number implements BigInt {
      * @param i the integer to convert
      */
     public BigIntList(final int i) {
-        if (i == 0) {
-            backing = factory.create();
-            backing.add((byte) 0);
-            return;
-        }
-        final List<Byte> tmpBacking = factory.create();
-        int counter = tmpBacking.size() - 1;
-        int value = i;
+        this(DEFAULT_FACTORY, backingOf(DEFAULT_FACTORY, i), true);
+    }
 
-        for (; value != 0; counter--, value /= 10) {
-            tmpBacking.add(0, (byte) Math.abs(value % 10));
+    /**
+     * Finds the value of a long, sharing one instance for each small value.
+     * Since instances are immutable, this should be preferred over
+     * {@link #BigIntList(int)}.
+     *
+     * @param value the value to convert
+     * @return a BigIntList with that value
+     */
+    public static BigIntList valueOf(final long value) {
+        if (value >= -CACHE_LIMIT && value <= CACHE_LIMIT) {
+            return CACHE[(int) value + CACHE_LIMIT];
         }
+        return new BigIntList(DEFAULT_FACTORY, backingOf(DEFAULT_FACTORY,
+                value), true);
+    }
 
-        if (i < 0) {
-            tmpBacking.add(0, (byte) '-');
-        }
+    /**
+     * Writes the digits of a long straight into a new list.
+     *
+     * @param factory creates the list
+     * @param value   the value
+     * @return the digits with a leading '-' if value is negative
+     */
+    private static List<Byte> backingOf(final ListFactory factory,
+            final long value) {
+        // Long.MIN_VALUE has 19 digits
+        final byte[] digits = new byte[19];
+        int start = digits.length;
+        long v = value;
+        do {
+            digits[--start] = (byte) Math.abs(v % 10);
+            v /= 10;
+        } while (v != 0);
+        final List<Byte> result = factory.create(digits.length - start
+                + (value < 0 ? 1 : 0));
+        if (value < 0) {
+            result.add((byte) '-');
+        }
+        appendDigits(result, digits, start);
+        return result;
+    }
 
-        backing = tmpBacking;
-        checkList(backing);
+    /**
+     * Adds digits onto the end of a list, all at once if it is a ByteList.
+     *
+     * @param list   the list
+     * @param digits the digits
+     * @param start  the index of the first digit to add
+     */
+    private static void appendDigits(final List<Byte> list,
+            final byte[] digits, final int start) {
+        if (list instanceof ByteList) {
+            ((ByteList) list).addBytes(digits, start, digits.length - start);
+        } else {
+            for (int i = start; i < digits.length; i++) {
+                list.add(digits[i]);
+            }
+        }
     }
 
     /**
@@ -134,24 +251,51 @@ public class BigIntList extends Number implements BigInt {
      * invalid
      */
     public BigIntList(final String s) throws NumberFormatException {
-        final byte[] tmpBackingArr = s.getBytes(NUM_CHARSET);
-        final List<Byte> tmpBacking = factory.create();
+        this(s, DEFAULT_FACTORY);
+    }
 
-        for (Byte b : tmpBackingArr) {
-            tmpBacking.add(b);
-        }
+    /**
+     * Creates an object using a String with the given List implementation.
+     *
+     * @param s       string representation of object
+     * @param factory creates the backing of this and of every result computed
+     *                from this
+     * @throws NumberFormatException if the String contains values which are
+     * invalid
+     */
+    public BigIntList(final String s, final ListFactory factory)
+            throws NumberFormatException {
+        this(factory, parse(s, factory), false);
+    }
 
-        ListIterator<Byte> li = tmpBacking.listIterator();
+    /**
+     * Converts the ASCII digits of a String into a new list without checking
+     * them.
+     *
+     * @param s       string representation of a value
+     * @param factory creates the list
+     * @return the digits with any leading sign
+     */
+    private static List<Byte> parse(final String s,
+            final ListFactory factory) {
+        final byte[] tmpBackingArr = s.getBytes(NUM_CHARSET);
+        for (int i = 0; i < tmpBackingArr.length; i++) {
+            if (tmpBackingArr[i] > '-') {
+                tmpBackingArr[i] -= '0';
+            }
+        }
 
-        while (li.hasNext()) {
-            byte b = li.next();
-            if (b > '-') {
-                li.set((byte) (b - '0'));
+        final List<Byte> tmpBacking = factory.create(tmpBackingArr.length);
+        if (tmpBacking instanceof ByteList) {
+            ((ByteList) tmpBacking).addBytes(tmpBackingArr, 0,
+                    tmpBackingArr.length);
+        } else {
+            for (Byte b : tmpBackingArr) {
+                tmpBacking.add(b);
             }
         }
 
-        checkList(tmpBacking);
-        backing = tmpBacking;
+        return tmpBacking;
     }
 
     /**
@@ -165,160 +309,349 @@ public class BigIntList extends Number implements BigInt {
      * @throws NumberFormatException throws an exception if values are invalid
      */
     public BigIntList(final Collection<Byte> barr) throws NumberFormatException {
-        if (barr.isEmpty()) {
-            backing = ZERO.backing;
-        } else {
-            backing = factory.create(barr);
-        }
-        checkList(backing);
+        this(DEFAULT_FACTORY, barr.isEmpty() ? ZERO.backing : DEFAULT_FACTORY
+                .create(barr), false);
     }
 
-    @Override
-    public BigIntList add(final BigInt other) {
-        BigIntList o = new BigIntList(other.toString());
-
-        /*
-         * Prepare yours; this method is ridiculous.
-         *
-         * You want recursion? We've got it. You want iterative? We've got it.
-         */
-        if (this.abs().compareTo(o.abs()) < 0) {
-            // if the absolute value of this is less than other, swap operands
-            return o.add(this);
-        }
-
-        if (this.compareTo(o) < 0) {
-            // if this value is less than the other,
-            // negate operands and negate result
-            return this.negate().add(o.negate()).negate();
-        }
-
-        // We need to know the sizes of the bigger array number
-        final int bigSize = backing.size() > o.backing.size()
-                ? backing.size() : o.backing.size();
+    /**
+     * Wraps a list without copying it.
+     *
+     * @param factory the factory which created the list
+     * @param backing the digits with an optional leading sign; it must not be
+     *                shared with anything else
+     * @param checked whether the list is already known to be valid; if not,
+     *                it is checked with {@link #checkList(java.util.List)}
+     * @throws NumberFormatException if the list is unchecked and invalid
+     */
+    private BigIntList(final ListFactory factory, final List<Byte> backing,
+            final boolean checked) throws NumberFormatException {
+        if (!checked) {
+            checkList(backing);
+        }
+        this.factory = factory;
+        this.backing = backing;
+        final int count = backing.size() - firstSignificant();
+        this.digitCount = Math.max(1, count);
+        this.signum = count == 0 ? 0 : isPositive() ? 1 : -1;
+    }
 
-        // Whether this object is positive
-        final boolean thisPositive = isPositive();
-        // Whether the object that is being added is positive
-        final boolean otherPositive = o.isPositive();
+    /**
+     * Wraps a valid list without copying or scanning it.
+     *
+     * @param factory    the factory which created the list
+     * @param backing    the digits with an optional leading sign; it must not
+     *                   be shared with anything else
+     * @param signum     the sign of the value
+     * @param digitCount the number of significant digits
+     */
+    private BigIntList(final ListFactory factory, final List<Byte> backing,
+            final int signum, final int digitCount) {
+        this.factory = factory;
+        this.backing = backing;
+        this.signum = signum;
+        this.digitCount = digitCount;
+    }
 
-        // We need to know if the signs if the numbers are the same.
-        // If they aren't, we need to subtract instead of add
-        final boolean add = thisPositive == otherPositive;
+    /**
+     * The number of digits in the value, not counting any sign
+     *
+     * @return the number of digits
+     */
+    private int digits() {
+        return isPositive() ? backing.size() : backing.size() - 1;
+    }
 
+    /**
+     * Packs the digits of the value into base 10<sup>9</sup> limbs so they can
+     * be handed to the kernels in {@link Multiplication}. The sign is dropped.
+     *
+     * @return the magnitude of this value as limbs
+     */
+    private int[] toLimbs() {
+        final int len = backing.size() - firstSignificant();
+        final int[] limbs = new int[(len + Limbs.BASE_DIGITS - 1)
+                / Limbs.BASE_DIGITS];
+        final Digits li = digitsFromEnd();
+        int scale = 1;
+        int limb = 0;
+        for (int k = 0; k < len; k++) {
+            limbs[limb] += li.previous() * scale;
+            scale *= 10;
+            if (scale == Limbs.BASE) {
+                scale = 1;
+                limb++;
+            }
+        }
+        return Limbs.trim(limbs);
+    }
 
-        /*
-         * number of values to reserve for carries
-         */
-        final int reserved = 1;
+    /**
+     * Unpacks base 10<sup>9</sup> limbs into a new instance with the same
+     * List implementation as this.
+     *
+     * @param negative whether the value is negative
+     * @param mag      trimmed magnitude of the value
+     * @return the value as a BigIntList
+     */
+    private BigIntList fromLimbs(final boolean negative, final int[] mag) {
+        if (mag.length == 0) {
+            return zero();
+        }
+        final byte[] digits = new byte[mag.length * Limbs.BASE_DIGITS];
+        for (int i = 0, k = digits.length - 1; i < mag.length; i++) {
+            int limb = mag[i];
+            for (int j = 0; j < Limbs.BASE_DIGITS; j++, k--) {
+                digits[k] = (byte) (limb % 10);
+                limb /= 10;
+            }
+        }
+        return fromDigits(negative, digits);
+    }
 
-        /*
-         * Temporary array for the resulting backend.
-         */
-        final List<Byte> result = factory.create();
+    /**
+     * Views another BigInt as a BigIntList, only copying it when it is some
+     * other implementation.
+     *
+     * @param o the value
+     * @return o itself or a copy of it
+     */
+    private static BigIntList asList(final BigInt o) {
+        return o instanceof BigIntList ? (BigIntList) o : new BigIntList(o
+                .toString());
+    }
 
-        /**
-         * The carry value -- we can initialize it to 0 for now. Every addition
-         * operation which creates a carry will set it to 1. Every subtraction
-         * operation which creates a carry will set it to -1. It should never be
-         * any other value
-         */
-        byte carry = 0;
+    /**
+     * Reads digits from the least significant end of a backing.
+     */
+    private abstract static class Digits {
 
         /**
-         * The number of total characters digits in the number takes up
+         * @return the next digit towards the most significant end
          */
-        int digitCount;
-
-        /*
-         * the number of characters required if a sign is used
-         */
-        int signCount;
+        abstract byte previous();
+    }
 
-        /*
-         * the number of total characters used. That is, if there is a sign
-         * character, numberCount = signCount and otherwise, numberCount =
-         * digitCount
-         */
-        int numberCount;
-
-        for (int i = 0; i <= bigSize; i++) {
-            //int ri = result.size() - 1 - i;
-
-            result.add(0, (byte) (0 + carry));
-            carry = 0;
-
-            // if this backing is big enough to access the index
-            if (i < backing.size()) {
-                int thisElement = backing.get(backing.size() - 1 - i);
-                // if this element is not a positive or negative sign
-                if (thisElement < 10 && thisElement > -10) {
-                    if (add || thisPositive) {
-                        result.set(0, (byte) (result.get(0) + thisElement));
-                    } else {
-                        result.set(0, (byte) (result.get(0) - thisElement));
-                    }
+    /**
+     * Creates a reader over the digits of this from the least significant
+     * end. A {@link ByteList} backing is read without boxing.
+     *
+     * @return the reader; it must not be read past the significant digits
+     */
+    private Digits digitsFromEnd() {
+        if (backing instanceof ByteList) {
+            final ByteList bytes = (ByteList) backing;
+            return new Digits() {
+                private int index = bytes.size();
+
+                @Override
+                byte previous() {
+                    return bytes.getByte(--index);
                 }
-            }
+            };
+        }
+        final ListIterator<Byte> li = backing.listIterator(backing.size());
+        return new Digits() {
 
-            if (i < o.backing.size()) {
-                int otherElement = o.backing.get(o.backing.size() - 1 - i);
-                // if the other element is not a positive or negative sign
-                if (otherElement < 10 && otherElement > -10) {
-                    if (add || otherPositive) {
-                        result.set(0, (byte) (result.get(0) + otherElement));
-                    } else {
-                        result.set(0, (byte) (result.get(0) - otherElement));
-                    }
-                }
+            @Override
+            byte previous() {
+                return li.previous();
             }
+        };
+    }
 
-            if (result.get(0) > 9) { // this can only happen when add is true
-                result.set(0, (byte) (result.get(0) - 10));
-                carry = 1;
-            } else if (result.get(0) < 0) { // this can only happen when !add
-                result.set(0, (byte) (result.get(0) + 10));
-                carry = -1;
+    /**
+     * Finds where the significant digits begin, that is, past any sign and
+     * leading zeros.
+     *
+     * @return index of the most significant non-zero digit or the size of the
+     * backing if the value is zero
+     */
+    private int firstSignificant() {
+        if (backing instanceof ByteList) {
+            final ByteList bytes = (ByteList) backing;
+            final int size = bytes.size();
+            for (int i = 0; i < size; i++) {
+                final byte b = bytes.getByte(i);
+                if (b > 0 && b < 10) {
+                    return i;
+                }
             }
+            return size;
         }
-
-        digitCount = 0;
-        for (byte r : result) {
-            if (r == 0) {
-                digitCount++;
-            } else {
-                break;
+        final ListIterator<Byte> li = backing.listIterator();
+        while (li.hasNext()) {
+            final byte b = li.next();
+            if (b > 0 && b < 10) {
+                return li.previousIndex();
             }
         }
+        return backing.size();
+    }
 
-        if (digitCount == result.size()) {
-            return new BigIntList(0);
+    /**
+     * Compares the magnitudes of two values of the same length.
+     *
+     * @param a      first value
+     * @param aStart index of the first significant digit of a
+     * @param b      second value
+     * @param bStart index of the first significant digit of b
+     * @return negative, zero or positive as |a| is less than, equal to or
+     * greater than |b|
+     */
+    private static int compareMagnitudes(final BigIntList a, final int aStart,
+            final BigIntList b, final int bStart) {
+        final ListIterator<Byte> ai = a.backing.listIterator(aStart);
+        final ListIterator<Byte> bi = b.backing.listIterator(bStart);
+        while (ai.hasNext()) {
+            final int delta = ai.next() - bi.next();
+            if (delta != 0) {
+                return delta;
+            }
         }
+        return 0;
+    }
 
-        digitCount = result.size() - 1 - digitCount;
-
-        // align from the index to count
-        digitCount++;
+    /**
+     * Finds zero with the same List implementation as this.
+     *
+     * @return {@link #ZERO} or an equal instance
+     */
+    private BigIntList zero() {
+        return factory == DEFAULT_FACTORY ? ZERO : new BigIntList(factory);
+    }
 
-        // the number of characters used if sign has to put in
-        signCount = digitCount + 1;
+    /**
+     * Throws away an intermediate result which was never handed out. If its
+     * backing is a {@link LinkedList}, the list is disposed of so that a
+     * recycling one gives its nodes back to the pool for the next result.
+     * Results of the default factory may be cached and shared, so they are
+     * left to the garbage collector.
+     *
+     * @param temporary the result; it must not be used afterwards
+     */
+    private static void dispose(final BigIntList temporary) {
+        if (temporary.factory != DEFAULT_FACTORY
+                && temporary.backing instanceof LinkedList) {
+            ((LinkedList<Byte>) temporary.backing).dispose();
+        }
+    }
 
-        // let's assume no sign for now.
-        numberCount = digitCount;
+    /**
+     * Builds an instance with the same List implementation as this from
+     * digits, skipping any leading zeros. Small values built with the default
+     * List implementation are taken from the cache of {@link #valueOf(long)}.
+     *
+     * @param negative whether the value is negative
+     * @param digits   the digits, most significant first
+     * @return the value as a BigIntList
+     */
+    private BigIntList fromDigits(final boolean negative,
+            final byte[] digits) {
+        int start = 0;
+        while (start < digits.length && digits[start] == 0) {
+            start++;
+        }
+        if (start == digits.length) {
+            return zero();
+        }
+        if (factory == DEFAULT_FACTORY && digits.length - start <= 9) {
+            int value = 0;
+            for (int i = start; i < digits.length; i++) {
+                value = value * 10 + digits[i];
+            }
+            if (value <= CACHE_LIMIT) {
+                return CACHE[CACHE_LIMIT + (negative ? -value : value)];
+            }
+        }
+        final List<Byte> result = factory.create(digits.length - start
+                + (negative ? 1 : 0));
+        if (negative) {
+            result.add((byte) '-');
+        }
+        appendDigits(result, digits, start);
+        return new BigIntList(factory, result, negative ? -1 : 1,
+                digits.length - start);
+    }
 
-        if (add && !thisPositive && !otherPositive) {
-            // give an extra space for the sign character
-            numberCount = digitCount + 1;
-            result.set(result.size() - signCount, (byte) '-');
+    /**
+     * Adds or subtracts in a single pass over both backings. The magnitudes
+     * are compared at most once to find which is bigger, then the digits are
+     * walked from the least significant end with one carry or borrow. Values
+     * long enough for {@link CarryLookahead} are packed into limbs and added
+     * in parallel instead.
+     *
+     * @param other    the other operand
+     * @param subtract whether to subtract the other operand instead
+     * @return this + other or this - other
+     */
+    private BigIntList add(final BigInt other, final boolean subtract) {
+        final BigIntList o = asList(other);
+        final boolean thisNegative = !isPositive();
+        final boolean otherNegative = o.isPositive() == subtract;
+        final boolean add = thisNegative == otherNegative;
+
+        final int thisStart = firstSignificant();
+        final int otherStart = o.firstSignificant();
+        final int thisLen = backing.size() - thisStart;
+        final int otherLen = o.backing.size() - otherStart;
+
+        // only the magnitude of a difference depends on which is bigger
+        int cmp = thisLen - otherLen;
+        if (cmp == 0 && !add) {
+            cmp = compareMagnitudes(this, thisStart, o, otherStart);
+            if (cmp == 0) {
+                return zero();
+            }
+        }
+        final BigIntList big = cmp >= 0 ? this : o;
+        final BigIntList small = cmp >= 0 ? o : this;
+        final int bigLen = Math.max(thisLen, otherLen);
+        final int smallLen = Math.min(thisLen, otherLen);
+        final boolean negative = cmp >= 0 ? thisNegative : otherNegative;
+
+        if (CarryLookahead.parallel((bigLen + Limbs.BASE_DIGITS - 1)
+                / Limbs.BASE_DIGITS)) {
+            // long enough to resolve the carries in parallel
+            final int[] x = big.toLimbs();
+            final int[] y = small.toLimbs();
+            return fromLimbs(negative, add ? Limbs.add(x, y) : Limbs
+                    .subtract(x, y));
+        }
+
+        // one extra digit for the final carry
+        final byte[] digits = new byte[bigLen + 1];
+        final Digits bi = big.digitsFromEnd();
+        final Digits si = small.digitsFromEnd();
+        int carry = 0;
+        for (int k = 0; k < bigLen; k++) {
+            int d = bi.previous() + carry;
+            if (k < smallLen) {
+                d = add ? d + si.previous() : d - si.previous();
+            }
+            if (d > 9) {
+                d -= 10;
+                carry = 1;
+            } else if (d < 0) {
+                d += 10;
+                carry = -1;
+            } else {
+                carry = 0;
+            }
+            digits[bigLen - k] = (byte) d;
         }
+        // the bigger magnitude always absorbs the last borrow
+        digits[0] = (byte) carry;
+        return fromDigits(negative, digits);
+    }
 
-        return new BigIntList(result.subList(result.size() - numberCount,
-                result.size()));
+    @Override
+    public BigIntList add(final BigInt other) {
+        return add(other, false);
     }
 
     @Override
     public BigIntList subtract(final BigInt o) {
-        return add(o.negate());
+        return add(o, true);
     }
 
     /**
@@ -331,9 +664,11 @@ public class BigIntList extends Number implements BigInt {
     private BigIntList multiply_with_add(final BigInt bi) {
         BigInt bia = new BigIntList(bi.toString());
         BigInt operand = bia.abs();
-        BigIntList result = ZERO;
+        BigIntList result = zero();
         for (BigInt i = ZERO; i.compareTo(operand) < 0; i = i.add(ONE)) {
-            result = result.add(this);
+            final BigIntList sum = result.add(this);
+            dispose(result);
+            result = sum;
         }
 
         if (!bia.isPositive()) {
@@ -343,100 +678,150 @@ public class BigIntList extends Number implements BigInt {
         return result;
     }
 
-    @Override
-    public BigInt multiply(final BigInt o) {
-        BigIntList bi = new BigIntList(o.toString());
-
-        /*
-         * Prepare yourself; this method is ridiculous.
-         *
-         * You want recursion? We've got it. You want iterative? We've got it.
-         */
-        if (this.abs().compareTo(bi.abs()) < 0) {
-            // if the absolute value of this is less than other, swap operands
-            return bi.multiply(this);
-        }
-
-        if (this.compareTo(bi) < 0) {
-            // if this value is less than the other,
-            // negate operands and negate result
-            return this.negate().multiply(bi.negate()).negate();
+    /**
+     * Copies out the significant digits of the magnitude.
+     *
+     * @return the digits, least significant first; empty if the value is zero
+     */
+    private byte[] magnitudeDigits() {
+        final byte[] digits = new byte[backing.size() - firstSignificant()];
+        final Digits li = digitsFromEnd();
+        for (int i = 0; i < digits.length; i++) {
+            digits[i] = li.previous();
         }
+        return digits;
+    }
 
-        // Whether this object is positive
-        final boolean thisPositive = isPositive();
-        // Whether the object that is being added is positive
-        final boolean otherPositive = o.isPositive();
-
-        // We need to know if the signs if the numbers are the same.
-        // If they aren't, we need to subtract instead of add
-        final boolean samecase = thisPositive == otherPositive;
-
-        final List<List<Byte>> productList = factory.create();
-
-        int carry = 0;
-        int count = 0;
-
-        final ListIterator<Byte> thisLi
-                = this.backing.listIterator(this.backing.size());
-
-        while (thisLi.hasPrevious()) {
-            final ListIterator<Byte> otherLi
-                    = bi.backing.listIterator(bi.backing.size());
-
-            final List<Byte> answer = factory.create();
-            final byte thisElement = thisLi.previous();
-
-            while (otherLi.hasPrevious()) {
-                final byte otherElement = otherLi.previous();
-
-                int result = thisElement * otherElement;
-                result += carry;
-                carry = result / 10;
-                result %= 10;
+    @Override
+    public BigIntList multiply(final BigInt o) {
+        final BigIntList bi = asList(o);
+        final boolean negative = isPositive() != bi.isPositive();
 
-                answer.add(0, (byte) result);
-            }
+        final int threshold = Multiplication.karatsubaThreshold
+                * Limbs.BASE_DIGITS;
+        if (digits() >= threshold && bi.digits() >= threshold) {
+            // big enough that it's worth packing the digits into limbs
+            return fromLimbs(negative, Multiplication.multiply(toLimbs(), bi
+                    .toLimbs()));
+        }
 
-            if (carry > 0) {
-                answer.add(0, (byte) carry);
-                carry = 0;
+        /*
+         * Comba's schoolbook: rather than building and adding up a shifted
+         * partial product per digit, every digit product is added straight
+         * into the sum for its column and the carries are propagated once at
+         * the end.
+         */
+        final byte[] a = magnitudeDigits();
+        final byte[] b = bi.magnitudeDigits();
+        if (a.length == 0 || b.length == 0) {
+            return zero();
+        }
+        final long[] columns = new long[a.length + b.length];
+        for (int i = 0; i < a.length; i++) {
+            final int ai = a[i];
+            if (ai == 0) {
+                continue;
             }
-
-            for (int i = 0; i < count; i++) {
-                answer.add((byte) 0);
+            for (int j = 0; j < b.length; j++) {
+                columns[i + j] += ai * b[j];
             }
-
-            count++;
-
-            productList.add(answer);
         }
 
-        List<Byte> fullAnswer = factory.create();
-        BigIntList result = ZERO;
+        final byte[] digits = new byte[columns.length];
+        long carry = 0;
+        for (int k = 0; k < columns.length; k++) {
+            final long t = columns[k] + carry;
+            carry = t / 10;
+            digits[columns.length - 1 - k] = (byte) (t - carry * 10);
+        }
+        return fromDigits(negative, digits);
+    }
 
-        System.out.println(productList);
+    /**
+     * Multiplies the magnitude by a small value and adds another in a single
+     * pass from the least significant digit.
+     *
+     * @param negative whether the result is negative
+     * @param m        the multiplier; within [0, 2<sup>31</sup>]
+     * @param c        the addend; within [0, 2<sup>31</sup>]
+     * @return |this| * m + c with the given sign
+     */
+    private BigIntList multiplyAdd(final boolean negative, final long m,
+            final long c) {
+        final int len = m == 0 ? 0 : backing.size() - firstSignificant();
+        // the multiplier and the addend can each add ten digits
+        final byte[] digits = new byte[len + 11];
+        final Digits li = digitsFromEnd();
+        long carry = c;
+        int i = digits.length - 1;
+        for (int k = 0; k < len; k++, i--) {
+            final long t = li.previous() * m + carry;
+            carry = t / 10;
+            digits[i] = (byte) (t - carry * 10);
+        }
+        for (; carry != 0; i--) {
+            digits[i] = (byte) (carry % 10);
+            carry /= 10;
+        }
+        return fromDigits(negative, digits);
+    }
 
-        for (List<Byte> add : productList) {
-            result = result.add(new BigIntList(add));
-        }
+    @Override
+    public BigIntList multiply(final int o) {
+        return multiplyAdd(isPositive() == (o < 0), Math.abs((long) o), 0);
+    }
 
+    /**
+     * Computes this * m + a. When the product and the addend have the same
+     * sign, the addend is folded into the carry of a single pass.
+     *
+     * @param m the multiplier
+     * @param a the addend
+     * @return this * m + a
+     */
+    @Override
+    public BigIntList multiplyAdd(final int m, final int a) {
+        final boolean negative = isPositive() == (m < 0);
+        if (a == 0 || negative == (a < 0)) {
+            return multiplyAdd(negative, Math.abs((long) m), Math.abs(
+                    (long) a));
+        }
+        final BigIntList product = multiply(m);
+        final BigIntList result = product.add(valueOf(a));
+        dispose(product);
         return result;
     }
 
     @Override
-    public BigIntList multiply(int o) {
-        int operand = Math.abs(o);
-        BigIntList result = ZERO;
-        for (int i = 0; i < operand; i++) {
-            result = result.add(this);
-        }
+    public BigIntList divide(final BigInt o) {
+        final BigIntList[] qr = divideAndRemainder(o);
+        dispose(qr[1]);
+        return qr[0];
+    }
 
-        if (o < 0) {
-            result = result.negate();
-        }
+    @Override
+    public BigIntList remainder(final BigInt o) {
+        final BigIntList[] qr = divideAndRemainder(o);
+        dispose(qr[0]);
+        return qr[1];
+    }
 
-        return result;
+    /**
+     * Packs both operands into limbs and divides them with {@link Division}.
+     * A BigIntArray divisor is already in limbs and is used as it is.
+     *
+     * @param o the divisor
+     * @return the quotient followed by the remainder
+     * @throws ArithmeticException if o is zero
+     */
+    @Override
+    public BigIntList[] divideAndRemainder(final BigInt o) {
+        final int[] divisor = o instanceof BigIntArray ? ((BigIntArray) o)
+                .magnitude() : asList(o).toLimbs();
+        final int[][] qr = Division.divideAndRemainder(toLimbs(), divisor);
+        return new BigIntList[]{
+            fromLimbs(isPositive() != (o.signum() >= 0), qr[0]),
+            fromLimbs(!isPositive(), qr[1])};
     }
 
     @Override
@@ -449,7 +834,7 @@ public class BigIntList extends Number implements BigInt {
             results = factory.create(backing);
             results.add(0, (byte) '-');
         }
-        return new BigIntList(results);
+        return new BigIntList(factory, results, -signum, digitCount);
     }
 
     @Override
@@ -482,37 +867,53 @@ public class BigIntList extends Number implements BigInt {
     }
 
     @Override
-    public int compareTo(BigInt o) {
-        BigIntList bia = new BigIntList(o.toString());
-
-        final boolean thisPositive = isPositive();
-        final boolean otherPositive = bia.isPositive();
-        final boolean bothPositive = thisPositive && otherPositive;
-
-        if (thisPositive && !otherPositive) {
-            return 1;
-        } else if (!thisPositive && otherPositive) {
-            return -1;
-        }
-
-        if (thisPositive == otherPositive) {
-            int result = backing.size() - bia.backing.size();
-            result = bothPositive ? result : -result;
-            if (result != 0) {
-                return result;
-            }
+    public int compareTo(final BigInt o) {
+        final int otherSignum = o.signum();
+        if (signum != otherSignum) {
+            return signum < otherSignum ? -1 : 1;
+        }
+        if (signum == 0) {
+            return 0;
+        }
+        final int otherCount = o.digitCount();
+        final int cmp;
+        if (digitCount != otherCount) {
+            cmp = digitCount < otherCount ? -1 : 1;
+        } else if (o instanceof BigIntArray) {
+            cmp = compareMagnitudes((BigIntArray) o);
+        } else {
+            final BigIntList bi = asList(o);
+            cmp = Integer.signum(compareMagnitudes(this, firstSignificant(),
+                    bi, bi.firstSignificant()));
         }
+        return signum < 0 ? -cmp : cmp;
+    }
 
-        ListIterator<Byte> i = backing.listIterator();
-        ListIterator<Byte> j = bia.backing.listIterator();
-
-        while (i.hasNext() && j.hasNext()) {
-            final int delta = i.next() - j.next();
-            if (delta != 0) {
-                return bothPositive ? delta : -delta;
+    /**
+     * Compares the magnitude of this with that of a BigIntArray with the same
+     * number of digits, reading the digits straight out of its limbs.
+     *
+     * @param o the other value
+     * @return -1, 0 or 1 as |this| is less than, equal to or greater than |o|
+     */
+    private int compareMagnitudes(final BigIntArray o) {
+        final int[] mag = o.magnitude();
+        final ListIterator<Byte> li = backing.listIterator(firstSignificant());
+        // the top limb holds whatever is left over from full limbs
+        int scale = 1;
+        for (int k = (digitCount - 1) % Limbs.BASE_DIGITS; k > 0; k--) {
+            scale *= 10;
+        }
+        for (int i = mag.length - 1; i >= 0; i--) {
+            final int limb = mag[i];
+            for (; scale > 0; scale /= 10) {
+                final int delta = li.next() - limb / scale % 10;
+                if (delta != 0) {
+                    return delta < 0 ? -1 : 1;
+                }
             }
+            scale = Limbs.BASE / 10;
         }
-
         return 0;
     }
 
@@ -529,6 +930,14 @@ public class BigIntList extends Number implements BigInt {
             i++;
         }
 
+        if (backing instanceof ByteList) {
+            final ByteList bytes = (ByteList) backing;
+            for (; i < bytes.size(); i++) {
+                sb.append((char) ('0' + bytes.getByte(i)));
+            }
+            return sb.toString();
+        }
+
         for (; i < backing.size(); i++) {
             sb.append(backing.get(i));
         }
@@ -541,15 +950,45 @@ public class BigIntList extends Number implements BigInt {
         return this.backing.get(0) != '-';
     }
 
+    @Override
+    public int signum() {
+        return signum;
+    }
+
+    @Override
+    public int digitCount() {
+        return digitCount;
+    }
+
+    /**
+     * Hashes the backing list the first time it is called and remembers the
+     * result, since the value never changes.
+     *
+     * @return the hash code
+     */
     @Override
     public int hashCode() {
-        int hash = 7;
-        hash = 47 * hash + Objects.hashCode(this.backing);
-        return hash;
+        int h = hash;
+        if (h == 0) {
+            h = 7;
+            h = 47 * h + Objects.hashCode(this.backing);
+            hash = h;
+        }
+        return h;
     }
 
+    /**
+     * Compares the backing lists, after ruling out values with different
+     * hashes, lengths, or signs without looking at any digits.
+     *
+     * @param obj the other object
+     * @return whether obj is a BigIntList with the same backing
+     */
     @Override
     public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
         if (obj == null) {
             return false;
         }
@@ -557,6 +996,13 @@ public class BigIntList extends Number implements BigInt {
             return false;
         }
         final BigIntList other = (BigIntList) obj;
+        if (hash != 0 && other.hash != 0 && hash != other.hash) {
+            return false;
+        }
+        if (signum != other.signum || digitCount != other.digitCount
+                || backing.size() != other.backing.size()) {
+            return false;
+        }
         if (!Objects.equals(this.backing, other.backing)) {
             return false;
         }
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.Cosc310BigInt.skraoofi0;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * A growable list of primitive bytes. It is a full {@link java.util.List} of
+ * Byte so it can be handed out by a {@link ListFactory} like any other List,
+ * but it stores a plain {@code byte[]} and has methods which never box.
+ *
+ * The elements sit in the middle of the array starting at an offset, so adding
+ * to or removing from either end is amortized constant time. Inserting or
+ * removing in the middle shifts whichever side is shorter.
+ *
+ * {@link BigIntList} notices when it is backed by one of these and reads and
+ * writes digits through the primitive methods.
+ *
+ * @author Kevin Raoofi
+ */
+public class ByteList extends AbstractList<Byte> implements RandomAccess {
+
+    /**
+     * The smallest amount of room made when the array has to grow
+     */
+    private static final int MIN_GROWTH = 8;
+
+    /**
+     * The backing array; elements are in {@code [head, head + size)}
+     */
+    private byte[] elements;
+
+    /**
+     * Index of the first element within the array
+     */
+    private int head;
+
+    /**
+     * Size of the List
+     */
+    private int size;
+
+    /**
+     * Default, no-arg, constructor.
+     */
+    public ByteList() {
+        this(MIN_GROWTH);
+    }
+
+    /**
+     * Constructor which makes room for a number of elements up front.
+     *
+     * @param initialCapacity the number of elements which can be appended
+     *                        before the array has to grow
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public ByteList(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: "
+                    + initialCapacity);
+        }
+        elements = new byte[initialCapacity];
+    }
+
+    /**
+     * Constructor which copies the contents of {@code c}.
+     *
+     * @param c the collection to add into this
+     */
+    public ByteList(final Collection<? extends Byte> c) {
+        this(c.size());
+        addAll(c);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Does nothing if bounds are OK for accessing. Otherwise, throws
+     * {@link IndexOutOfBoundsException}.
+     *
+     * @param index the index intended to be accessed
+     * @throws IndexOutOfBoundsException if (index >= size || index < 0)
+     */
+    private void verifyAccessible(final int index)
+            throws IndexOutOfBoundsException {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("Cannot access index: " + index
+                    + " with size: " + size);
+        }
+    }
+
+    /**
+     * Does nothing if bounds are OK for insertion. Otherwise, throws
+     * {@link IndexOutOfBoundsException}.
+     *
+     * @param index the index intended to be inserted at
+     * @throws IndexOutOfBoundsException if (index > size || index < 0)
+     */
+    private void verifyInsertable(final int index)
+            throws IndexOutOfBoundsException {
+        if (index > size || index < 0) {
+            throw new IndexOutOfBoundsException("Cannot insert index: " + index
+                    + " with size: " + size);
+        }
+    }
+
+    /**
+     * Makes sure there are free slots on one side of the elements, moving
+     * them to a bigger array if there aren't. All the new room goes on the
+     * side that ran out.
+     *
+     * @param front whether the room is needed before the first element
+     * @param count the number of free slots needed
+     */
+    private void ensureRoom(final boolean front, final int count) {
+        final int free = front ? head : elements.length - head - size;
+        if (free >= count) {
+            return;
+        }
+        final int growth = Math.max(count, Math.max(size >> 1, MIN_GROWTH));
+        final int other = front ? elements.length - head - size : head;
+        final byte[] grown = new byte[size + other + growth];
+        final int newHead = front ? growth : head;
+        System.arraycopy(elements, head, grown, newHead, size);
+        elements = grown;
+        head = newHead;
+    }
+
+    /**
+     * Gets an element without boxing it.
+     *
+     * @param index index of the element
+     * @return the element
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public byte getByte(final int index) throws IndexOutOfBoundsException {
+        verifyAccessible(index);
+        return elements[head + index];
+    }
+
+    /**
+     * Replaces an element without boxing it.
+     *
+     * @param index index of the element
+     * @param b     the new value
+     * @return the value which was replaced
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public byte setByte(final int index, final byte b)
+            throws IndexOutOfBoundsException {
+        verifyAccessible(index);
+        final byte old = elements[head + index];
+        elements[head + index] = b;
+        return old;
+    }
+
+    /**
+     * Appends an element without boxing it.
+     *
+     * @param b the element
+     */
+    public void addByte(final byte b) {
+        ensureRoom(false, 1);
+        elements[head + size++] = b;
+        modCount++;
+    }
+
+    /**
+     * Inserts an element at the front without boxing it.
+     *
+     * @param b the element
+     */
+    public void addFirstByte(final byte b) {
+        ensureRoom(true, 1);
+        elements[--head] = b;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Appends a range of an array.
+     *
+     * @param src the bytes to append
+     * @param off index of the first byte to append
+     * @param len the number of bytes to append
+     * @throws IndexOutOfBoundsException if the range is not within src
+     */
+    public void addBytes(final byte[] src, final int off, final int len)
+            throws IndexOutOfBoundsException {
+        if (off < 0 || len < 0 || off > src.length - len) {
+            throw new IndexOutOfBoundsException("Cannot copy " + len
+                    + " bytes from index: " + off + " of length: "
+                    + src.length);
+        }
+        ensureRoom(false, len);
+        System.arraycopy(src, off, elements, head + size, len);
+        size += len;
+        modCount++;
+    }
+
+    /**
+     * Copies a range of the elements into an array.
+     *
+     * @param index  index of the first element to copy
+     * @param dst    where to copy the elements to
+     * @param dstOff index in dst of the first element copied
+     * @param len    the number of elements to copy
+     * @throws IndexOutOfBoundsException if either range is out of bounds
+     */
+    public void getBytes(final int index, final byte[] dst, final int dstOff,
+            final int len) throws IndexOutOfBoundsException {
+        if (index < 0 || len < 0 || index > size - len) {
+            throw new IndexOutOfBoundsException("Cannot copy " + len
+                    + " elements from index: " + index + " with size: "
+                    + size);
+        }
+        System.arraycopy(elements, head + index, dst, dstOff, len);
+    }
+
+    /**
+     * Copies all the elements into a new array.
+     *
+     * @return the elements in order
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOfRange(elements, head, head + size);
+    }
+
+    @Override
+    public Byte get(final int index) {
+        return getByte(index);
+    }
+
+    @Override
+    public Byte set(final int index, final Byte element) {
+        return setByte(index, element);
+    }
+
+    @Override
+    public boolean add(final Byte e) {
+        addByte(e);
+        return true;
+    }
+
+    @Override
+    public void add(final int index, final Byte element) {
+        verifyInsertable(index);
+        final byte b = element;
+        if (index < size - index) {
+            ensureRoom(true, 1);
+            System.arraycopy(elements, head, elements, head - 1, index);
+            head--;
+        } else {
+            ensureRoom(false, 1);
+            System.arraycopy(elements, head + index, elements, head + index
+                    + 1, size - index);
+        }
+        elements[head + index] = b;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends Byte> c) {
+        if (c instanceof ByteList) {
+            final ByteList o = (ByteList) c;
+            addBytes(o.elements, o.head, o.size);
+            return o.size != 0;
+        }
+        return super.addAll(c);
+    }
+
+    @Override
+    public Byte remove(final int index) {
+        verifyAccessible(index);
+        final byte old = elements[head + index];
+        if (index < size - index) {
+            System.arraycopy(elements, head, elements, head + 1, index);
+            head++;
+        } else {
+            System.arraycopy(elements, head + index + 1, elements, head
+                    + index, size - index - 1);
+        }
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        System.arraycopy(elements, head + toIndex, elements, head + fromIndex,
+                size - toIndex);
+        size -= toIndex - fromIndex;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+}
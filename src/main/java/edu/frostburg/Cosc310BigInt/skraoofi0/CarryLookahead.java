@@ -0,0 +1,246 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.Cosc310BigInt.skraoofi0;
+
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parallel addition and subtraction of magnitudes made of base
+ * 10<sup>9</sup> limbs. See {@link Limbs} for the layout of a magnitude.
+ *
+ * The carry chain of an addition is serial, so the operands are cut into
+ * blocks which are added in parallel as if no carry came in. Each block then
+ * either generates a carry, propagates one it is given (every limb of its sum
+ * is B - 1) or kills it. A scan over the blocks finds the carry into every
+ * block, and the blocks given a carry add it in parallel; the scan guarantees
+ * it stops within the block unless the block propagates it. Subtraction works
+ * the same way with borrows, where a block propagates if every limb of its
+ * difference is 0.
+ *
+ * Magnitudes whose longer operand has at least {@link #threshold} limbs are
+ * handled here by {@link Limbs#add(int[], int[])} and
+ * {@link Limbs#subtract(int[], int[])}. The work runs in the same pool and
+ * with the same parallelism as {@link Multiplication}. The threshold may be
+ * tuned with the system property
+ * {@code edu.frostburg.bigint.carryLookaheadThreshold}.
+ *
+ * @author Kevin Raoofi
+ */
+final class CarryLookahead {
+
+    /**
+     * The number of limbs the longer operand needs before it is added or
+     * subtracted in parallel
+     */
+    static volatile int threshold = Integer.getInteger(
+            "edu.frostburg.bigint.carryLookaheadThreshold", 1 << 16);
+
+    /**
+     * The fewest limbs a block is given
+     */
+    private static final int GRAIN = 1 << 14;
+
+    /**
+     * The number of blocks made for each thread so that threads which finish
+     * early can take over the work of slower ones
+     */
+    private static final int BLOCKS_PER_THREAD = 4;
+
+    private CarryLookahead() {
+    }
+
+    /**
+     * Checks whether an addition or subtraction should be done in parallel.
+     *
+     * @param len the number of limbs in the longer operand
+     * @return true if it is long enough and more than one thread may be used
+     */
+    static boolean parallel(final int len) {
+        return len >= threshold && Multiplication.parallelism > 1;
+    }
+
+    /**
+     * Adds two magnitudes.
+     *
+     * @param a the longer magnitude
+     * @param b the shorter magnitude
+     * @return a + b, which may have a leading zero limb
+     */
+    static int[] add(final int[] a, final int[] b) {
+        final int[] result = new int[a.length + 1];
+        final int size = blockSize(a.length);
+        final int blocks = (a.length + size - 1) / size;
+        final boolean[] generate = new boolean[blocks];
+        final boolean[] propagate = new boolean[blocks];
+
+        final Runnable[] sums = new Runnable[blocks];
+        for (int j = 0; j < blocks; j++) {
+            final int block = j;
+            sums[j] = () -> {
+                final int from = block * size;
+                final int to = Math.min(from + size, a.length);
+                final int mid = Math.max(from, Math.min(to, b.length));
+                int carry = 0;
+                boolean nines = true;
+                for (int i = from; i < mid; i++) {
+                    int sum = a[i] + b[i] + carry;
+                    carry = sum >= Limbs.BASE ? 1 : 0;
+                    result[i] = sum - (carry == 1 ? Limbs.BASE : 0);
+                    nines &= result[i] == Limbs.BASE - 1;
+                }
+                for (int i = mid; i < to; i++) {
+                    int sum = a[i] + carry;
+                    carry = sum >= Limbs.BASE ? 1 : 0;
+                    result[i] = sum - (carry == 1 ? Limbs.BASE : 0);
+                    nines &= result[i] == Limbs.BASE - 1;
+                }
+                generate[block] = carry == 1;
+                propagate[block] = nines;
+            };
+        }
+        invokeAll(sums);
+
+        final boolean[] carryIn = scan(generate, propagate);
+        final Runnable[] fixes = new Runnable[blocks];
+        for (int j = 0; j < blocks; j++) {
+            final int block = j;
+            fixes[j] = () -> {
+                if (!carryIn[block]) {
+                    return;
+                }
+                final int to = Math.min((block + 1) * size, a.length);
+                for (int i = block * size; i < to; i++) {
+                    if (result[i] != Limbs.BASE - 1) {
+                        result[i]++;
+                        return;
+                    }
+                    result[i] = 0;
+                }
+            };
+        }
+        invokeAll(fixes);
+        result[a.length] = carryIn[blocks] ? 1 : 0;
+        return result;
+    }
+
+    /**
+     * Subtracts two magnitudes. The minuend must not be smaller than the
+     * subtrahend.
+     *
+     * @param a the minuend
+     * @param b the subtrahend
+     * @return a - b, which may have leading zero limbs
+     */
+    static int[] subtract(final int[] a, final int[] b) {
+        final int[] result = new int[a.length];
+        final int size = blockSize(a.length);
+        final int blocks = (a.length + size - 1) / size;
+        final boolean[] generate = new boolean[blocks];
+        final boolean[] propagate = new boolean[blocks];
+
+        final Runnable[] differences = new Runnable[blocks];
+        for (int j = 0; j < blocks; j++) {
+            final int block = j;
+            differences[j] = () -> {
+                final int from = block * size;
+                final int to = Math.min(from + size, a.length);
+                final int mid = Math.max(from, Math.min(to, b.length));
+                int borrow = 0;
+                boolean zeros = true;
+                for (int i = from; i < mid; i++) {
+                    int diff = a[i] - b[i] - borrow;
+                    borrow = diff < 0 ? 1 : 0;
+                    result[i] = diff + (borrow == 1 ? Limbs.BASE : 0);
+                    zeros &= result[i] == 0;
+                }
+                for (int i = mid; i < to; i++) {
+                    int diff = a[i] - borrow;
+                    borrow = diff < 0 ? 1 : 0;
+                    result[i] = diff + (borrow == 1 ? Limbs.BASE : 0);
+                    zeros &= result[i] == 0;
+                }
+                generate[block] = borrow == 1;
+                propagate[block] = zeros;
+            };
+        }
+        invokeAll(differences);
+
+        final boolean[] borrowIn = scan(generate, propagate);
+        final Runnable[] fixes = new Runnable[blocks];
+        for (int j = 0; j < blocks; j++) {
+            final int block = j;
+            fixes[j] = () -> {
+                if (!borrowIn[block]) {
+                    return;
+                }
+                final int to = Math.min((block + 1) * size, a.length);
+                for (int i = block * size; i < to; i++) {
+                    if (result[i] != 0) {
+                        result[i]--;
+                        return;
+                    }
+                    result[i] = Limbs.BASE - 1;
+                }
+            };
+        }
+        invokeAll(fixes);
+        return result;
+    }
+
+    /**
+     * Picks the number of limbs in each block.
+     *
+     * @param len the number of limbs in the longer operand
+     * @return the block size
+     */
+    private static int blockSize(final int len) {
+        final int blocks = Math.max(1, Multiplication.parallelism
+                * BLOCKS_PER_THREAD);
+        return Math.max(GRAIN, (len + blocks - 1) / blocks);
+    }
+
+    /**
+     * Finds the carry into every block from what each block does with one.
+     *
+     * @param generate  whether each block produces a carry by itself
+     * @param propagate whether each block passes on a carry it is given
+     * @return the carry into each block, followed by the carry out of the
+     *         last one
+     */
+    private static boolean[] scan(final boolean[] generate,
+            final boolean[] propagate) {
+        final boolean[] carry = new boolean[generate.length + 1];
+        for (int j = 0; j < generate.length; j++) {
+            carry[j + 1] = generate[j] || propagate[j] && carry[j];
+        }
+        return carry;
+    }
+
+    /**
+     * Runs independent tasks in the pool {@link Multiplication} uses and
+     * waits for all of them.
+     *
+     * @param pieces the tasks; each must write only to memory no other task
+     *               reads or writes
+     */
+    private static void invokeAll(final Runnable[] pieces) {
+        final ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[pieces.length];
+        for (int i = 0; i < pieces.length; i++) {
+            tasks[i] = ForkJoinTask.adapt(pieces[i]);
+        }
+        Multiplication.invoke(() -> ForkJoinTask.invokeAll(tasks));
+    }
+}
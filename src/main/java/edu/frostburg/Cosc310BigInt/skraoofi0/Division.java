@@ -0,0 +1,326 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.Cosc310BigInt.skraoofi0;
+
+import java.util.Arrays;
+
+/**
+ * Division of magnitudes made of base 10<sup>9</sup> limbs. See {@link Limbs}
+ * for the layout of a magnitude.
+ *
+ * <ul>
+ * <li>single limb divisors are divided in one pass</li>
+ * <li>divisors or quotients below {@link #burnikelZieglerThreshold} limbs use
+ * schoolbook long division (Knuth's algorithm D)</li>
+ * <li>otherwise, Burnikel and Ziegler's recursive division splits the problem
+ * into halves whose partial quotients are corrected with a multiplication, so
+ * division costs a constant factor of {@link Multiplication}</li>
+ * </ul>
+ *
+ * The threshold may be tuned with the system property
+ * {@code edu.frostburg.bigint.burnikelZieglerThreshold}.
+ *
+ * @author Kevin Raoofi
+ */
+final class Division {
+
+    /**
+     * The number of limbs both the divisor and the quotient need before
+     * Burnikel-Ziegler division is used. It is also the size of the blocks
+     * the recursion stops at.
+     */
+    static int burnikelZieglerThreshold = Integer.getInteger(
+            "edu.frostburg.bigint.burnikelZieglerThreshold", 40);
+
+    private Division() {
+    }
+
+    /**
+     * Divides two magnitudes.
+     *
+     * @param a the dividend
+     * @param b the divisor
+     * @return the quotient a / b and the remainder a % b, in that order
+     * @throws ArithmeticException if b is zero
+     */
+    static int[][] divideAndRemainder(final int[] a, final int[] b)
+            throws ArithmeticException {
+        if (b.length == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        if (Limbs.compare(a, b) < 0) {
+            return new int[][]{Limbs.ZERO, a};
+        }
+        if (b.length == 1) {
+            return divideSmall(a, b[0]);
+        }
+        if (b.length < burnikelZieglerThreshold
+                || a.length - b.length < burnikelZieglerThreshold) {
+            return schoolbook(a, b);
+        }
+        return burnikelZiegler(a, b);
+    }
+
+    /**
+     * Divides a magnitude by a single limb.
+     *
+     * @param a the dividend
+     * @param d the divisor; within [1, {@link Limbs#BASE})
+     * @return the quotient and the remainder
+     */
+    private static int[][] divideSmall(final int[] a, final int d) {
+        final int[] q = new int[a.length];
+        long rem = 0;
+        for (int i = a.length - 1; i >= 0; i--) {
+            final long cur = rem * Limbs.BASE + a[i];
+            q[i] = (int) (cur / d);
+            rem = cur - (long) q[i] * d;
+        }
+        return new int[][]{Limbs.trim(q),
+            rem == 0 ? Limbs.ZERO : new int[]{(int) rem}};
+    }
+
+    /**
+     * Knuth's algorithm D. Both operands are scaled so the top limb of the
+     * divisor is at least half the base, which keeps each estimated quotient
+     * limb within two of the real one.
+     *
+     * @param a the dividend
+     * @param b the divisor; must not be zero
+     * @return the quotient and the remainder
+     */
+    static int[][] schoolbook(final int[] a, final int[] b) {
+        if (Limbs.compare(a, b) < 0) {
+            return new int[][]{Limbs.ZERO, a};
+        }
+        if (b.length == 1) {
+            return divideSmall(a, b[0]);
+        }
+        final int n = b.length;
+        final int m = a.length - n;
+        final long d = Limbs.BASE / (b[n - 1] + 1L);
+        final int[] v = Arrays.copyOf(Limbs.multiply(b, d), n);
+        final int[] u = Arrays.copyOf(Limbs.multiply(a, d), a.length + 1);
+        final int[] q = new int[m + 1];
+        final long vTop = v[n - 1];
+        final long vNext = v[n - 2];
+
+        for (int j = m; j >= 0; j--) {
+            final long num = (long) u[j + n] * Limbs.BASE + u[j + n - 1];
+            long qhat = num / vTop;
+            long rhat = num - qhat * vTop;
+            while (qhat >= Limbs.BASE
+                    || qhat * vNext > rhat * Limbs.BASE + u[j + n - 2]) {
+                qhat--;
+                rhat += vTop;
+                if (rhat >= Limbs.BASE) {
+                    break;
+                }
+            }
+
+            // u[j, j + n] -= qhat * v
+            long carry = 0;
+            long borrow = 0;
+            for (int i = 0; i < n; i++) {
+                final long p = qhat * v[i] + carry;
+                carry = p / Limbs.BASE;
+                long t = u[i + j] - (p - carry * Limbs.BASE) - borrow;
+                borrow = t < 0 ? 1 : 0;
+                u[i + j] = (int) (t + borrow * Limbs.BASE);
+            }
+            long t = u[j + n] - carry - borrow;
+            if (t < 0) {
+                // qhat was one too big; add v back
+                qhat--;
+                int c = 0;
+                for (int i = 0; i < n; i++) {
+                    int sum = u[i + j] + v[i] + c;
+                    c = sum >= Limbs.BASE ? 1 : 0;
+                    u[i + j] = sum - c * Limbs.BASE;
+                }
+                t += c;
+            }
+            u[j + n] = (int) t;
+            q[j] = (int) qhat;
+        }
+
+        final int[] r = Limbs.divide(Limbs.trim(Arrays.copyOf(u, n)),
+                (int) d);
+        return new int[][]{Limbs.trim(q), r};
+    }
+
+    /**
+     * Burnikel and Ziegler's recursive division. The divisor is scaled and
+     * padded with low zero limbs to n = j * 2<sup>k</sup> limbs so that it
+     * can be halved k times down to blocks below the threshold, and the
+     * dividend is split into blocks of n limbs which are divided from the top
+     * down.
+     *
+     * @param a the dividend
+     * @param b the divisor
+     * @return the quotient and the remainder
+     */
+    private static int[][] burnikelZiegler(final int[] a, final int[] b) {
+        final int s = b.length;
+        int m = 1;
+        while (m * burnikelZieglerThreshold < s) {
+            m <<= 1;
+        }
+        final int j = (s + m - 1) / m;
+        final int n = j * m;
+        final int sigma = n - s;
+        final long d = Limbs.BASE / (b[s - 1] + 1L);
+
+        final int[] bn = shift(Limbs.multiply(b, d), sigma);
+        final int[] an = shift(Limbs.multiply(a, d), sigma);
+
+        // leave the top block at least a limb short so it is below the divisor
+        final int t = Math.max(2, (an.length + 1 + n - 1) / n);
+        final int[] q = new int[t * n];
+
+        int[] z = slice(an, (t - 2) * n, t * n);
+        for (int i = t - 2; i >= 0; i--) {
+            final int[][] qr = divide2n1n(z, bn, n);
+            System.arraycopy(qr[0], 0, q, i * n, qr[0].length);
+            if (i > 0) {
+                z = combine(qr[1], slice(an, (i - 1) * n, i * n), n);
+            } else {
+                z = qr[1];
+            }
+        }
+
+        final int[] r = Limbs.divide(slice(z, sigma, z.length), (int) d);
+        return new int[][]{Limbs.trim(q), r};
+    }
+
+    /**
+     * Divides a value of up to 2n limbs by a normalized divisor of n limbs.
+     * The quotient must fit in n limbs.
+     *
+     * @param a the dividend
+     * @param b the divisor
+     * @param n the number of limbs in the divisor
+     * @return the quotient and the remainder
+     */
+    private static int[][] divide2n1n(final int[] a, final int[] b,
+            final int n) {
+        if ((n & 1) == 1 || n < burnikelZieglerThreshold) {
+            return schoolbook(a, b);
+        }
+        final int half = n / 2;
+        final int[][] qr1 = divide3n2n(slice(a, half, 2 * n), b, half);
+        final int[][] qr2 = divide3n2n(combine(qr1[1], slice(a, 0, half),
+                half), b, half);
+        return new int[][]{combine(qr1[0], qr2[0], half), qr2[1]};
+    }
+
+    /**
+     * Divides a value of up to 3m limbs by a normalized divisor of 2m limbs.
+     * The quotient must fit in m limbs.
+     *
+     * @param a the dividend
+     * @param b the divisor
+     * @param m half the number of limbs in the divisor
+     * @return the quotient and the remainder
+     */
+    private static int[][] divide3n2n(final int[] a, final int[] b,
+            final int m) {
+        final int[] a1 = slice(a, 2 * m, 3 * m);
+        final int[] a12 = slice(a, m, 3 * m);
+        final int[] a3 = slice(a, 0, m);
+        final int[] b1 = slice(b, m, 2 * m);
+        final int[] b2 = slice(b, 0, m);
+
+        int[] q;
+        final int[] r1;
+        if (Limbs.compare(a1, b1) < 0) {
+            final int[][] qr = divide2n1n(a12, b1, m);
+            q = qr[0];
+            r1 = qr[1];
+        } else {
+            // the quotient is capped at B^m - 1
+            q = new int[m];
+            Arrays.fill(q, Limbs.BASE - 1);
+            r1 = Limbs.subtract(Limbs.add(a12, b1), shift(b1, m));
+        }
+
+        final int[] x = combine(r1, a3, m);
+        final int[] dq = Multiplication.multiply(q, b2);
+        if (Limbs.compare(x, dq) >= 0) {
+            return new int[][]{q, Limbs.subtract(x, dq)};
+        }
+        // the estimate was too big; it is off by at most two
+        int[] deficit = Limbs.subtract(dq, x);
+        do {
+            q = Limbs.subtract(q, new int[]{1});
+            if (Limbs.compare(deficit, b) <= 0) {
+                return new int[][]{q, Limbs.subtract(b, deficit)};
+            }
+            deficit = Limbs.subtract(deficit, b);
+        } while (true);
+    }
+
+    /**
+     * Copies out a range of limbs.
+     *
+     * @param a    the magnitude
+     * @param from index of the least significant limb to copy
+     * @param to   index after the most significant limb to copy; may be past
+     *             the end of a
+     * @return the trimmed range
+     */
+    private static int[] slice(final int[] a, final int from, final int to) {
+        if (from >= a.length) {
+            return Limbs.ZERO;
+        }
+        return Limbs.trim(Arrays.copyOfRange(a, from, Math.min(to,
+                a.length)));
+    }
+
+    /**
+     * Multiplies a magnitude by B<sup>k</sup>.
+     *
+     * @param a the magnitude
+     * @param k the number of zero limbs to shift in
+     * @return a * B<sup>k</sup>
+     */
+    private static int[] shift(final int[] a, final int k) {
+        if (a.length == 0 || k == 0) {
+            return a;
+        }
+        final int[] result = new int[a.length + k];
+        System.arraycopy(a, 0, result, k, a.length);
+        return result;
+    }
+
+    /**
+     * Concatenates two magnitudes.
+     *
+     * @param hi the upper part
+     * @param lo the lower part; below B<sup>k</sup>
+     * @param k  the number of limbs the lower part occupies
+     * @return hi * B<sup>k</sup> + lo
+     */
+    private static int[] combine(final int[] hi, final int[] lo, final int k) {
+        if (hi.length == 0) {
+            return lo;
+        }
+        final int[] result = new int[k + hi.length];
+        System.arraycopy(lo, 0, result, 0, lo.length);
+        System.arraycopy(hi, 0, result, k, hi.length);
+        return result;
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.Cosc310BigInt.skraoofi0;
+
+import java.util.Arrays;
+
+/**
+ * Arithmetic kernels over magnitudes stored as base 10<sup>9</sup> limbs.
+ *
+ * A magnitude is an {@code int[]} where index 0 holds the least significant
+ * limb and every limb is within [0, {@link #BASE}). Magnitudes handed out by
+ * this class are always trimmed, so the most significant limb is never 0 and
+ * zero is represented by an empty array.
+ *
+ * The base is a power of ten so that conversion to and from decimal text is a
+ * simple regrouping of digits rather than a change of radix.
+ *
+ * @author Kevin Raoofi
+ */
+final class Limbs {
+
+    /**
+     * The radix of every limb
+     */
+    static final int BASE = 1000000000;
+
+    /**
+     * The number of decimal digits held by a full limb
+     */
+    static final int BASE_DIGITS = 9;
+
+    /**
+     * The magnitude of 0
+     */
+    static final int[] ZERO = new int[0];
+
+    private Limbs() {
+    }
+
+    /**
+     * Removes any leading zero limbs.
+     *
+     * @param a a magnitude which may have leading zero limbs
+     * @return a trimmed magnitude; a itself if it was already trimmed
+     */
+    static int[] trim(final int[] a) {
+        int len = a.length;
+        while (len > 0 && a[len - 1] == 0) {
+            len--;
+        }
+        if (len == a.length) {
+            return a;
+        }
+        return len == 0 ? ZERO : Arrays.copyOf(a, len);
+    }
+
+    /**
+     * Compares two trimmed magnitudes.
+     *
+     * @param a first magnitude
+     * @param b second magnitude
+     * @return negative, zero, or positive as a is less than, equal to, or
+     * greater than b
+     */
+    static int compare(final int[] a, final int[] b) {
+        if (a.length != b.length) {
+            return a.length < b.length ? -1 : 1;
+        }
+        for (int i = a.length - 1; i >= 0; i--) {
+            if (a[i] != b[i]) {
+                return a[i] < b[i] ? -1 : 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Adds two magnitudes. Long magnitudes are added in parallel by
+     * {@link CarryLookahead}.
+     *
+     * @param a first magnitude
+     * @param b second magnitude
+     * @return a + b
+     */
+    static int[] add(final int[] a, final int[] b) {
+        if (a.length < b.length) {
+            return add(b, a);
+        }
+        if (CarryLookahead.parallel(a.length)) {
+            return trim(CarryLookahead.add(a, b));
+        }
+        final int[] result = new int[a.length + 1];
+        int carry = 0;
+        int i = 0;
+        for (; i < b.length; i++) {
+            int sum = a[i] + b[i] + carry;
+            carry = sum >= BASE ? 1 : 0;
+            result[i] = sum - (carry == 1 ? BASE : 0);
+        }
+        for (; i < a.length; i++) {
+            int sum = a[i] + carry;
+            carry = sum >= BASE ? 1 : 0;
+            result[i] = sum - (carry == 1 ? BASE : 0);
+        }
+        result[i] = carry;
+        return trim(result);
+    }
+
+    /**
+     * Subtracts two magnitudes. The minuend must not be smaller than the
+     * subtrahend. Long magnitudes are subtracted in parallel by
+     * {@link CarryLookahead}.
+     *
+     * @param a the minuend
+     * @param b the subtrahend
+     * @return a - b
+     */
+    static int[] subtract(final int[] a, final int[] b) {
+        if (CarryLookahead.parallel(a.length)) {
+            return trim(CarryLookahead.subtract(a, b));
+        }
+        final int[] result = new int[a.length];
+        int borrow = 0;
+        int i = 0;
+        for (; i < b.length; i++) {
+            int diff = a[i] - b[i] - borrow;
+            borrow = diff < 0 ? 1 : 0;
+            result[i] = diff + (borrow == 1 ? BASE : 0);
+        }
+        for (; i < a.length; i++) {
+            int diff = a[i] - borrow;
+            borrow = diff < 0 ? 1 : 0;
+            result[i] = diff + (borrow == 1 ? BASE : 0);
+        }
+        return trim(result);
+    }
+
+    /**
+     * Multiplies a magnitude by a small non-negative value.
+     *
+     * @param a the magnitude
+     * @param m multiplier; must be within [0, 2<sup>31</sup>]
+     * @return a * m
+     */
+    static int[] multiply(final int[] a, final long m) {
+        return multiplyAdd(a, m, 0);
+    }
+
+    /**
+     * Multiplies a magnitude by a small non-negative value and adds another
+     * in the same pass; the addend simply starts off as the carry.
+     *
+     * @param a the magnitude
+     * @param m multiplier; must be within [0, 2<sup>31</sup>]
+     * @param c addend; must be within [0, 2<sup>62</sup>)
+     * @return a * m + c
+     */
+    static int[] multiplyAdd(final int[] a, final long m, final long c) {
+        if ((a.length == 0 || m == 0) && c == 0) {
+            return ZERO;
+        }
+        // a long carry spills into at most three more limbs
+        final int[] result = new int[a.length + 3];
+        long carry = c;
+        int i = 0;
+        if (m != 0) {
+            for (; i < a.length; i++) {
+                long t = a[i] * m + carry;
+                carry = t / BASE;
+                result[i] = (int) (t - carry * BASE);
+            }
+        }
+        for (; carry != 0; i++) {
+            result[i] = (int) (carry % BASE);
+            carry /= BASE;
+        }
+        return trim(result);
+    }
+
+    /**
+     * Divides a magnitude by a small positive value, discarding the
+     * remainder.
+     *
+     * @param a the dividend
+     * @param d the divisor; must be within [1, {@link #BASE}]
+     * @return a / d
+     */
+    static int[] divide(final int[] a, final int d) {
+        final int[] result = new int[a.length];
+        long rem = 0;
+        for (int i = a.length - 1; i >= 0; i--) {
+            final long cur = rem * BASE + a[i];
+            result[i] = (int) (cur / d);
+            rem = cur - (long) result[i] * d;
+        }
+        return trim(result);
+    }
+
+    /**
+     * Converts decimal digits to a magnitude. The characters within the range
+     * must all be ASCII digits.
+     *
+     * @param s     the characters to convert
+     * @param start index of the most significant digit
+     * @param end   index after the least significant digit
+     * @return the magnitude the digits represent
+     * @throws NumberFormatException if there are no digits or a character is
+     * not a digit
+     */
+    static int[] parse(final CharSequence s, final int start, final int end)
+            throws NumberFormatException {
+        if (start >= end) {
+            throw new NumberFormatException("No digits in: \"" + s + "\"");
+        }
+        final int[] result = new int[(end - start + BASE_DIGITS - 1)
+                / BASE_DIGITS];
+        int limb = 0;
+        for (int hi = end; hi > start; hi -= BASE_DIGITS) {
+            final int lo = Math.max(start, hi - BASE_DIGITS);
+            int value = 0;
+            for (int i = lo; i < hi; i++) {
+                final int digit = s.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new NumberFormatException(
+                            "Unsupported character first found at position: "
+                            + i + " in: " + s);
+                }
+                value = value * 10 + digit;
+            }
+            result[limb++] = value;
+        }
+        return trim(result);
+    }
+
+    /**
+     * Appends the decimal digits of a magnitude to a StringBuilder.
+     *
+     * @param a  the magnitude to write
+     * @param sb where to write the digits to
+     * @return sb
+     */
+    static StringBuilder toString(final int[] a, final StringBuilder sb) {
+        if (a.length == 0) {
+            return sb.append('0');
+        }
+        sb.append(a[a.length - 1]);
+        final char[] buf = new char[BASE_DIGITS];
+        for (int i = a.length - 2; i >= 0; i--) {
+            int value = a[i];
+            for (int j = BASE_DIGITS - 1; j >= 0; j--) {
+                buf[j] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+            sb.append(buf);
+        }
+        return sb;
+    }
+}
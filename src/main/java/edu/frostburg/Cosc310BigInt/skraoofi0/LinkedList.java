@@ -17,10 +17,17 @@ package edu.frostburg.Cosc310BigInt.skraoofi0;
 
 import java.util.AbstractList;
 import java.util.AbstractSequentialList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.HashMap;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * <p>
@@ -28,18 +35,47 @@ import java.util.NoSuchElementException;
  * original in several ways.</p>
  *
  * <ol>
- * <li>It does not implement any extra interfaces outside of the List interface.
- * The most evident sadness this provides is the lack of Deque methods.</li>
+ * <li>It implements {@link Deque} but, unlike the original, also lets one
+ * list be moved into another in constant time with
+ * {@link #splice(int, LinkedList)} and {@link #concat(LinkedList)}, which
+ * relink the other list's nodes instead of copying its elements.
+ * {@link #addAll(int, Collection)} packs the new elements into a chain of
+ * nodes first and then links the chain in the same way.</li>
  *
  * <li>It is not fail-fast in concurrency situations. So, if you used this
  * implementation without external synchronization, I couldn't tell you what
  * horrible things may happen.</li>
+ *
+ * <li>It can be unrolled. Each node holds an array of up to a fixed number of
+ * elements rather than a single one; see {@link #unrolled(int)}. A full node is
+ * split in two when something is inserted into it and nearly empty neighbours
+ * are merged when things are removed. Iterating then mostly steps through
+ * arrays instead of chasing a pointer per element. A list made with the
+ * constructors holds one element per node like any other linked list.</li>
+ *
+ * <li>It remembers where the last iterator was opened. Opening another one,
+ * which is what {@link #get(int)} and {@link #set(int, java.lang.Object)} do,
+ * walks from there when that is closer than either end, so scanning by index
+ * forwards or backwards costs about the same as using one iterator. Reading
+ * a list from several threads at once is still safe as long as none of them
+ * changes it.</li>
+ *
+ * <li>It can recycle its nodes; see {@link #recycling(int)}. Nodes which are
+ * dropped by removals or {@link #clear()} go to a pool kept by the current
+ * thread and new nodes are taken from there before any are allocated. Calling
+ * {@link #dispose()} on a recycling list which is no longer needed hands all
+ * of its nodes back. The pool holds at most {@link #poolLimit} nodes of each
+ * size.</li>
+ *
+ * <li>Its {@link #spliterator()} is sized and splits evenly, so parallel
+ * streams over it actually run in parallel.</li>
  * </ol>
  *
  * @author Kevin Raoofi
  * @param <E> the type for the elements being stored
  */
-public class LinkedList<E> extends AbstractSequentialList<E> {
+public class LinkedList<E> extends AbstractSequentialList<E> implements
+        Deque<E> {
 
     /**
      * Size of the List
@@ -53,6 +89,11 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
      */
     private int mods;
 
+    /**
+     * The most elements a node may hold
+     */
+    private final int capacity;
+
     /**
      * <p>
      * So, rather than use a null, I'm using a node which has both the first and
@@ -63,16 +104,56 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
      * It made coding it a lot easier because I pretty much never had to deal
      * with null values that could either be not instantiated yet or the
      * terminator.</p>
+     *
+     * <p>
+     * It never holds any elements, so a count of 0 also marks it.</p>
      */
-    private Item<E> reference;
+    private final Item<E> reference;
+
+    /**
+     * Where the last iterator was opened or made a modification. It is
+     * replaced as a whole, never updated, so threads which only read a list
+     * can share it without ever seeing a node paired with the wrong index.
+     */
+    private Finger<E> finger;
+
+    /**
+     * The most spare nodes of any one capacity a thread keeps for recycling
+     * lists. It may be tuned with the system property
+     * {@code edu.frostburg.bigint.nodePoolLimit}.
+     */
+    static int poolLimit = Integer.getInteger(
+            "edu.frostburg.bigint.nodePoolLimit", 1 << 16);
+
+    /**
+     * Each thread's pools of spare nodes by node capacity
+     */
+    private static final ThreadLocal<Map<Integer, Pool>> POOLS
+            = new ThreadLocal<Map<Integer, Pool>>() {
+
+                @Override
+                protected Map<Integer, Pool> initialValue() {
+                    return new HashMap<>();
+                }
+            };
+
+    /**
+     * Whether nodes go through the pool of the current thread
+     */
+    private final boolean recycling;
+
+    /**
+     * The pool last used and the thread it belongs to, which saves a lookup
+     * while the list stays on one thread
+     */
+    private Pool pool;
+    private Thread poolOwner;
 
     /**
      * Default, no-arg, constructor.
      */
     public LinkedList() {
-        this.reference = new Item<>();
-        reference.next = reference;
-        reference.prev = reference;
+        this(1, false);
     }
 
     /**
@@ -86,6 +167,166 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
         addAll(c);
     }
 
+    /**
+     * Constructor which sets how many elements go in each node.
+     *
+     * @param nodeCapacity the most elements a node may hold
+     * @param recycling    whether to take nodes from and give them back to
+     *                     the pool of the current thread
+     * @throws IllegalArgumentException if nodeCapacity is less than 1
+     */
+    private LinkedList(final int nodeCapacity, final boolean recycling)
+            throws IllegalArgumentException {
+        if (nodeCapacity < 1) {
+            throw new IllegalArgumentException("Illegal node capacity: "
+                    + nodeCapacity);
+        }
+        this.capacity = nodeCapacity;
+        this.recycling = recycling;
+        this.reference = new Item<>(0);
+        reference.next = reference;
+        reference.prev = reference;
+    }
+
+    /**
+     * Creates an empty unrolled list. Somewhere around 32 to 64 elements per
+     * node gives scans close to the speed of an array while keeping inserts
+     * and removals cheap.
+     *
+     * @param <E>          the type for the elements being stored
+     * @param nodeCapacity the most elements a node may hold
+     * @return the new list
+     * @throws IllegalArgumentException if nodeCapacity is less than 1
+     */
+    public static <E> LinkedList<E> unrolled(final int nodeCapacity)
+            throws IllegalArgumentException {
+        return new LinkedList<>(nodeCapacity, false);
+    }
+
+    /**
+     * Creates an empty list whose nodes are recycled through a pool kept by
+     * each thread. Removing elements, clearing the list and disposing of it
+     * give nodes back to the pool, and growing takes them from the pool before
+     * allocating.
+     *
+     * @param <E>          the type for the elements being stored
+     * @param nodeCapacity the most elements a node may hold; 1 for an
+     *                     ordinary linked list
+     * @return the new list
+     * @throws IllegalArgumentException if nodeCapacity is less than 1
+     */
+    public static <E> LinkedList<E> recycling(final int nodeCapacity)
+            throws IllegalArgumentException {
+        return new LinkedList<>(nodeCapacity, true);
+    }
+
+    /**
+     * The number of nodes recycling lists on the current thread took from its
+     * pool rather than allocating
+     *
+     * @return the number of hits
+     */
+    public static long poolHits() {
+        long hits = 0;
+        for (Pool p : POOLS.get().values()) {
+            hits += p.hits;
+        }
+        return hits;
+    }
+
+    /**
+     * The number of nodes recycling lists on the current thread had to
+     * allocate because its pool was empty
+     *
+     * @return the number of misses
+     */
+    public static long poolMisses() {
+        long misses = 0;
+        for (Pool p : POOLS.get().values()) {
+            misses += p.misses;
+        }
+        return misses;
+    }
+
+    /**
+     * Empties the pools of the current thread and zeroes their counts.
+     */
+    public static void resetPool() {
+        POOLS.get().clear();
+    }
+
+    /**
+     * Finds the pool of the current thread for nodes of this list's size.
+     *
+     * @return the pool
+     */
+    private Pool pool() {
+        final Thread thread = Thread.currentThread();
+        if (thread != poolOwner) {
+            final Map<Integer, Pool> pools = POOLS.get();
+            pool = pools.get(capacity);
+            if (pool == null) {
+                pool = new Pool();
+                pools.put(capacity, pool);
+            }
+            poolOwner = thread;
+        }
+        return pool;
+    }
+
+    /**
+     * Gets an empty, unlinked node, from the pool if this list recycles.
+     *
+     * @return the node
+     */
+    @SuppressWarnings("unchecked")
+    private Item<E> newItem() {
+        if (!recycling) {
+            return new Item<>(capacity);
+        }
+        final Pool p = pool();
+        if (p.top == null) {
+            p.misses++;
+            return new Item<>(capacity);
+        }
+        p.hits++;
+        final Item<E> item = (Item<E>) p.top;
+        p.top = item.next;
+        p.size--;
+        item.next = null;
+        return item;
+    }
+
+    /**
+     * Unlinks a node and, if this list recycles, gives it to the pool.
+     *
+     * @param item the node; it must not be used afterwards
+     */
+    @SuppressWarnings("unchecked")
+    private void releaseItem(final Item<E> item) {
+        item.unlink();
+        if (recycling) {
+            final Pool p = pool();
+            if (p.size < poolLimit) {
+                item.next = (Item<E>) p.top;
+                p.top = item;
+                p.size++;
+            }
+        }
+    }
+
+    /**
+     * Creates a spliterator which knows its exact size and splits in half by
+     * walking to the middle once, skipping whole nodes, so parallel streams
+     * over this list divide the work evenly.
+     *
+     * @return the spliterator
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new NodeSpliterator(null, 0, -1);
+    }
+
     @Override
     public ListIterator<E> listIterator(int index) {
         return new MainIter(index);
@@ -96,6 +337,282 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
         return size;
     }
 
+    @Override
+    public void clear() {
+        if (recycling) {
+            while (reference.next != reference) {
+                releaseItem(reference.next);
+            }
+        }
+        reference.next = reference;
+        reference.prev = reference;
+        size = 0;
+        mods++;
+    }
+
+    /**
+     * Empties a list which is no longer needed. A recycling list hands all of
+     * its nodes back to the pool of the current thread and forgets that pool;
+     * any other list is just cleared. The list may still be used afterwards.
+     */
+    public void dispose() {
+        clear();
+        pool = null;
+        poolOwner = null;
+    }
+
+    /**
+     * Moves all of another list's elements into this one at an index without
+     * copying them. The other list's nodes are linked in as they are, so
+     * after finding the index this takes constant time, and the other list is
+     * left empty. If the lists have different node capacities the elements
+     * are copied instead.
+     *
+     * @param index the index the first element of other will have
+     * @param other the list to empty into this one
+     * @throws IndexOutOfBoundsException if (index > size || index < 0)
+     * @throws IllegalArgumentException  if other is this list
+     */
+    public void splice(final int index, final LinkedList<E> other)
+            throws IndexOutOfBoundsException, IllegalArgumentException {
+        verifyInsertable(index);
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot splice a list into "
+                    + "itself");
+        }
+        if (other.size == 0) {
+            return;
+        }
+        if (other.capacity != capacity) {
+            addAll(index, other);
+            other.clear();
+            return;
+        }
+
+        // find the node the chain goes after, splitting one if need be
+        final MainIter it = new MainIter(index);
+        final Item<E> before;
+        if (it.offset == 0) {
+            before = it.current.prev;
+        } else if (it.offset < it.current.count) {
+            it.current.splitAt(it.offset, newItem());
+            before = it.current;
+        } else {
+            before = it.current;
+        }
+
+        final Item<E> first = other.reference.next;
+        final Item<E> last = other.reference.prev;
+        final Item<E> after = before.next;
+        before.next = first;
+        first.prev = before;
+        last.next = after;
+        after.prev = last;
+        size += other.size;
+        mods++;
+
+        other.reference.next = other.reference;
+        other.reference.prev = other.reference;
+        other.size = 0;
+        other.mods++;
+    }
+
+    /**
+     * Moves all of another list's elements onto the end of this one without
+     * copying them; see {@link #splice(int, LinkedList)}.
+     *
+     * @param other the list to empty into this one
+     * @throws IllegalArgumentException if other is this list
+     */
+    public void concat(final LinkedList<E> other)
+            throws IllegalArgumentException {
+        splice(size, other);
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends E> c) {
+        return addAll(size, c);
+    }
+
+    /**
+     * Inserts every element of a collection. The elements are packed into
+     * full nodes which are then linked in all at once, so this only walks to
+     * the index once.
+     *
+     * @param index the index the first new element will have
+     * @param c     the elements to insert
+     * @return whether this list changed
+     * @throws IndexOutOfBoundsException if (index > size || index < 0)
+     */
+    @Override
+    public boolean addAll(final int index, final Collection<? extends E> c)
+            throws IndexOutOfBoundsException {
+        verifyInsertable(index);
+        if (c.isEmpty()) {
+            return false;
+        }
+        final LinkedList<E> chain = new LinkedList<>(capacity, recycling);
+        Item<E> tail = chain.reference;
+        for (E e : c) {
+            if (tail.count == capacity || tail == chain.reference) {
+                tail = tail.linkAfter(chain.newItem());
+            }
+            tail.elems[tail.count++] = e;
+            chain.size++;
+        }
+        splice(index, chain);
+        return true;
+    }
+
+    @Override
+    public void addFirst(final E e) {
+        add(0, e);
+    }
+
+    @Override
+    public void addLast(final E e) {
+        add(size, e);
+    }
+
+    @Override
+    public boolean offerFirst(final E e) {
+        addFirst(e);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(final E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public E removeFirst() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return remove(0);
+    }
+
+    @Override
+    public E removeLast() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return remove(size - 1);
+    }
+
+    @Override
+    public E pollFirst() {
+        return size == 0 ? null : remove(0);
+    }
+
+    @Override
+    public E pollLast() {
+        return size == 0 ? null : remove(size - 1);
+    }
+
+    @Override
+    public E getFirst() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return reference.next.get(0);
+    }
+
+    @Override
+    public E getLast() throws NoSuchElementException {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return reference.prev.get(reference.prev.count - 1);
+    }
+
+    @Override
+    public E peekFirst() {
+        return size == 0 ? null : getFirst();
+    }
+
+    @Override
+    public E peekLast() {
+        return size == 0 ? null : getLast();
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(final Object o) {
+        return remove(o);
+    }
+
+    @Override
+    public boolean removeLastOccurrence(final Object o) {
+        final ListIterator<E> it = listIterator(size);
+        while (it.hasPrevious()) {
+            final E e = it.previous();
+            if (o == null ? e == null : o.equals(e)) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean offer(final E e) {
+        return offerLast(e);
+    }
+
+    @Override
+    public E remove() throws NoSuchElementException {
+        return removeFirst();
+    }
+
+    @Override
+    public E poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public E element() throws NoSuchElementException {
+        return getFirst();
+    }
+
+    @Override
+    public E peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public void push(final E e) {
+        addFirst(e);
+    }
+
+    @Override
+    public E pop() throws NoSuchElementException {
+        return removeFirst();
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        final ListIterator<E> it = listIterator(size);
+        return new Iterator<E>() {
+
+            @Override
+            public boolean hasNext() {
+                return it.hasPrevious();
+            }
+
+            @Override
+            public E next() {
+                return it.previous();
+            }
+
+            @Override
+            public void remove() {
+                it.remove();
+            }
+        };
+    }
+
     /**
      * Does nothing if bounds are OK for accessing. Otherwise, throws
      * {@link IndexOutOfBoundsException}.
@@ -129,23 +646,37 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
      * for add, delete, traversal, etc. with {@link AbstractList} providing all
      * the boilerplate.
      *
+     * The cursor sits in a node at an offset, in front of the element at that
+     * offset. An offset equal to the node's count is the gap after its last
+     * element, which is the same place as the gap before the first element of
+     * the next node. The terminator only ever holds the cursor when the list
+     * is empty or the cursor is past the end.
+     *
      * @author Kevin Raoofi
      */
     private final class MainIter implements ListIterator<E> {
 
         /**
-         * The current item in question
+         * The node the cursor is in
          */
         Item<E> current;
         /**
-         * The last item returned
+         * Offset of the cursor within {@link #current}
+         */
+        int offset;
+        /**
+         * The node holding the last item returned
          */
         Item<E> lastReturned;
+        /**
+         * Offset of the last item returned within {@link #lastReturned}
+         */
+        int lastOffset;
 
         /**
-         * The current index
+         * The index of the element after the cursor
          */
-        int currentIndex;
+        int nextIndex;
 
         /**
          * The number of modifications expected as consistent with the iterator
@@ -168,27 +699,60 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
             verifyInsertable(index);
             this.iterModCount = mods;
             this.canSet = false;
-            this.currentIndex = -1;
-            this.current = reference;
-
+            this.nextIndex = index;
             this.lastReturned = reference;
 
             /*
              * Decides if we're traversing backwards or forwards depending on
-             * which is shorter
+             * which is shorter, including from the finger. Whole nodes are
+             * skipped at a time.
              */
-            if (index < size / 2) {
-                this.currentIndex = -1;
-                for (int i = 0; i < index; i++) {
+            final Finger<E> f = finger;
+            final boolean fingered = f != null && f.mods == mods
+                    && Math.abs(index - f.index) < Math.min(index, size
+                            - index);
+            if (fingered && index >= f.index) {
+                int skip = index - f.index;
+                this.current = f.node;
+                while (skip > current.count) {
+                    skip -= current.count;
+                    current = current.next;
+                }
+                this.offset = skip;
+            } else if (fingered) {
+                int skip = f.index - index;
+                this.current = f.node.prev;
+                while (skip > current.count) {
+                    skip -= current.count;
+                    current = current.prev;
+                }
+                this.offset = current.count - skip;
+            } else if (index < size / 2) {
+                int skip = index;
+                this.current = reference.next;
+                while (skip > current.count) {
+                    skip -= current.count;
                     current = current.next;
-                    this.currentIndex++;
                 }
+                this.offset = skip;
             } else {
-                this.currentIndex = size;
-                for (int i = size; i >= index; i--) {
+                int skip = size - index;
+                this.current = reference.prev;
+                while (skip > current.count) {
+                    skip -= current.count;
                     current = current.prev;
-                    this.currentIndex--;
                 }
+                this.offset = current.count - skip;
+            }
+            moveFinger();
+        }
+
+        /**
+         * Records the node the cursor is in as the finger.
+         */
+        private void moveFinger() {
+            if (current != reference) {
+                finger = new Finger<>(current, nextIndex - offset, mods);
             }
         }
 
@@ -205,7 +769,7 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
 
         @Override
         public boolean hasNext() {
-            return this.current.next != reference;
+            return nextIndex < size;
         }
 
         @Override
@@ -216,17 +780,21 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
 
             canSet = true;
 
-            this.current = this.current.next;
-            currentIndex++;
+            while (offset == current.count) {
+                current = current.next;
+                offset = 0;
+            }
 
-            this.lastReturned = this.current;
+            this.lastReturned = current;
+            this.lastOffset = offset++;
+            nextIndex++;
 
-            return this.current.obj;
+            return current.get(lastOffset);
         }
 
         @Override
         public boolean hasPrevious() {
-            return this.current != reference;
+            return nextIndex > 0;
         }
 
         @Override
@@ -237,24 +805,26 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
 
             canSet = true;
 
-            E elem = this.current.obj;
-            this.lastReturned = this.current;
-
-            this.current = this.current.prev;
+            while (offset == 0) {
+                current = current.prev;
+                offset = current.count;
+            }
 
-            this.currentIndex--;
+            this.lastReturned = current;
+            this.lastOffset = --offset;
+            nextIndex--;
 
-            return elem;
+            return current.get(offset);
         }
 
         @Override
         public int nextIndex() {
-            return this.currentIndex + 1 < size ? this.currentIndex + 1 : size;
+            return nextIndex;
         }
 
         @Override
         public int previousIndex() {
-            return this.currentIndex > -1 ? this.currentIndex : -1;
+            return nextIndex - 1;
         }
 
         @Override
@@ -270,17 +840,34 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
 
             canSet = false;
 
-            this.current = this.lastReturned.prev;
-
-            lastReturned.remove();
+            // whichever way the element was reached, the cursor ends up
+            // where it was
+            if (offset > lastOffset) {
+                nextIndex--;
+            }
+            final Item<E> node = lastReturned;
+            node.removeAt(lastOffset);
+            current = node;
+            offset = lastOffset;
             lastReturned = reference;
 
-            this.iterModCount++;
-            if (this.currentIndex > -1) {
-                this.currentIndex--;
+            if (node.count == 0) {
+                current = node.next;
+                offset = 0;
+                releaseItem(node);
+            } else if (node.next != reference
+                    && node.count + node.next.count <= capacity / 2) {
+                releaseItem(node.absorbNext());
+            } else if (node.prev != reference
+                    && node.prev.count + node.count <= capacity / 2) {
+                current = node.prev;
+                offset += current.count;
+                releaseItem(current.absorbNext());
             }
 
             size--;
+            this.iterModCount = ++mods;
+            moveFinger();
         }
 
         @Override
@@ -290,32 +877,207 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
                         "Must call next or previous first");
             }
 
-            this.lastReturned.obj = e;
+            this.lastReturned.elems[lastOffset] = e;
         }
 
         @Override
         public void add(E e) {
             canSet = false;
 
-            this.current = this.current.addAfter(e);
+            Item<E> node = current;
+            int off = offset;
+            if (node == reference) {
+                // past the end, so append to the last node if there is one
+                node = reference.prev;
+                off = node.count;
+            }
+
+            if (node == reference) {
+                node = reference.linkAfter(newItem());
+            } else if (node.count == capacity) {
+                if (off == 0 && node.prev != reference
+                        && node.prev.count < capacity) {
+                    node = node.prev;
+                    off = node.count;
+                } else if (off == node.count && node.next != reference
+                        && node.next.count < capacity) {
+                    node = node.next;
+                    off = 0;
+                } else if (off == 0) {
+                    node = node.prev.linkAfter(newItem());
+                } else if (off == node.count) {
+                    node = node.linkAfter(newItem());
+                    off = 0;
+                } else {
+                    final Item<E> upper = node.split(newItem());
+                    if (off > node.count) {
+                        off -= node.count;
+                        node = upper;
+                    }
+                }
+            }
+
+            node.insertAt(off, e);
+            current = node;
+            offset = off + 1;
 
-            currentIndex++;
+            nextIndex++;
             size++;
+            this.iterModCount = ++mods;
+            moveFinger();
+        }
+    }
+
+    /**
+     * A node along with the index of its first element, which is only
+     * trusted while the list's modification count still matches
+     */
+    private static final class Finger<E> {
+
+        final Item<E> node;
+        final int index;
+        /**
+         * The list's modification count when this was recorded. Any
+         * structural change moves it on and so drops the finger.
+         */
+        final int mods;
+
+        Finger(final Item<E> node, final int index, final int mods) {
+            this.node = node;
+            this.index = index;
+            this.mods = mods;
+        }
+    }
+
+    /**
+     * Hands out a range of elements starting at an offset in a node. A
+     * spliterator from {@link #spliterator()} binds to the whole list when it
+     * is first used, so the list may change until then.
+     */
+    private final class NodeSpliterator implements Spliterator<E> {
+
+        /**
+         * The node holding the next element
+         */
+        Item<E> current;
+        /**
+         * Offset of the next element within {@link #current}
+         */
+        int offset;
+        /**
+         * The number of elements left, or -1 until bound
+         */
+        int remaining;
+
+        NodeSpliterator(final Item<E> current, final int offset,
+                final int remaining) {
+            this.current = current;
+            this.offset = offset;
+            this.remaining = remaining;
+        }
+
+        /**
+         * Starts at the head of the list if this has not started yet.
+         */
+        private void bind() {
+            if (remaining < 0) {
+                current = reference.next;
+                offset = 0;
+                remaining = size;
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super E> action) {
+            bind();
+            if (remaining == 0) {
+                return false;
+            }
+            while (offset == current.count) {
+                current = current.next;
+                offset = 0;
+            }
+            remaining--;
+            action.accept(current.get(offset++));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super E> action) {
+            bind();
+            while (remaining > 0) {
+                while (offset == current.count) {
+                    current = current.next;
+                    offset = 0;
+                }
+                final int end = Math.min(current.count, offset + remaining);
+                remaining -= end - offset;
+                while (offset < end) {
+                    action.accept(current.get(offset++));
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            bind();
+            if (remaining < 2) {
+                return null;
+            }
+            final int half = remaining / 2;
+            final NodeSpliterator prefix = new NodeSpliterator(current, offset,
+                    half);
+            int skip = offset + half;
+            while (skip > current.count) {
+                skip -= current.count;
+                current = current.next;
+            }
+            offset = skip;
+            remaining -= half;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining < 0 ? size : remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED
+                    | Spliterator.SUBSIZED;
         }
     }
 
+    /**
+     * A stack of spare nodes of one capacity, linked through their next
+     * references, along with how often it could and couldn't supply a node
+     */
+    private static final class Pool {
+
+        Item<?> top;
+        int size;
+        long hits;
+        long misses;
+    }
+
     /**
      * This class is responsible for holding the links for each node and
-     * contains each of the element in the class
+     * contains the elements in the class
      *
      * @param <E>
      */
     private final static class Item<E> {
 
         /**
-         * The object that this item is holding
+         * The objects that this item is holding; only the first
+         * {@link #count} are in use
          */
-        public E obj;
+        public final Object[] elems;
+        /**
+         * The number of objects this item is holding
+         */
+        public int count;
         /**
          * The previous item
          */
@@ -326,18 +1088,58 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
         public Item<E> next;
 
         /**
-         * Creates a new {@link Item<E>} and inserts it directly after this one.
-         * The next item of this Item is subsequently given to the new Item as
-         * its next Item.
+         * Creates an empty, unlinked item.
+         *
+         * @param capacity the most objects it can hold
+         */
+        Item(final int capacity) {
+            elems = new Object[capacity];
+        }
+
+        /**
+         * Gets one of the objects this item holds.
+         *
+         * @param i offset of the object
+         * @return the object
+         */
+        @SuppressWarnings("unchecked")
+        public E get(final int i) {
+            return (E) elems[i];
+        }
+
+        /**
+         * Inserts an object, shifting any after it up. There must be room.
+         *
+         * @param i offset to put the object at
+         * @param e the object
+         */
+        public void insertAt(final int i, final E e) {
+            System.arraycopy(elems, i, elems, i + 1, count - i);
+            elems[i] = e;
+            count++;
+        }
+
+        /**
+         * Removes an object, shifting any after it down.
+         *
+         * @param i offset of the object
+         */
+        public void removeAt(final int i) {
+            System.arraycopy(elems, i + 1, elems, i, count - i - 1);
+            elems[--count] = null;
+        }
+
+        /**
+         * Inserts an empty {@link Item<E>} directly after this one. The next
+         * item of this Item is subsequently given to the new Item as its next
+         * Item.
          *
-         * @param e element which the new item will have
+         * @param nitem the unlinked item to insert
          * @return the new item
          */
-        public Item<E> addAfter(E e) {
-            Item<E> nitem = new Item<>();
+        public Item<E> linkAfter(final Item<E> nitem) {
             nitem.prev = this;
             nitem.next = next;
-            nitem.obj = e;
 
             next.prev = nitem;
             next = nitem;
@@ -346,45 +1148,63 @@ public class LinkedList<E> extends AbstractSequentialList<E> {
         }
 
         /**
-         * Creates a new {@link Item<E>} and inserts it directly before this
-         * one. The previous item of this Item is subsequently given to the new
-         * Item as its previous item.
+         * Moves the upper half of the objects into a new item directly after
+         * this one.
          *
-         * @param e element which the new item will have
+         * @param upper an empty, unlinked item of the same capacity
          * @return the new item
          */
-        public Item<E> addBefore(E e) {
-            Item<E> nitem = new Item<>();
-            nitem.next = this;
-            nitem.prev = prev;
-            nitem.obj = e;
+        public Item<E> split(final Item<E> upper) {
+            return splitAt(count / 2, upper);
+        }
 
-            prev.next = nitem;
-            prev = nitem;
+        /**
+         * Moves the objects from an offset onwards into a new item directly
+         * after this one.
+         *
+         * @param at    the offset of the first object to move
+         * @param upper an empty, unlinked item of the same capacity
+         * @return the new item
+         */
+        public Item<E> splitAt(final int at, final Item<E> upper) {
+            linkAfter(upper);
+            upper.count = count - at;
+            System.arraycopy(elems, at, upper.elems, 0, upper.count);
+            Arrays.fill(elems, at, count, null);
+            count = at;
+            return upper;
+        }
 
-            return nitem;
+        /**
+         * Moves every object of the next item to the end of this one. They
+         * must fit. The next item is left empty for the caller to unlink.
+         *
+         * @return the next item
+         */
+        public Item<E> absorbNext() {
+            final Item<E> victim = next;
+            System.arraycopy(victim.elems, 0, elems, count, victim.count);
+            count += victim.count;
+            Arrays.fill(victim.elems, 0, victim.count, null);
+            victim.count = 0;
+            return victim;
         }
 
         /**
          * Removes references to this item by removing the previous item's and
          * the next item's reference to this item with each other. Also sets
-         * this item's references to them as well as its reference to the
-         * element it contains to null.
+         * this item's references to them as well as its references to the
+         * elements it contains to null.
          *
          * This item should no longer be used afterwards and any other external
          * references to this should no longer exist.
-         *
-         * @return the element this item held
          */
-        public E remove() {
-            E element = obj;
-
+        public void unlink() {
             this.prev.next = next;
             this.next.prev = prev;
             next = prev = null;
-            obj = null;
-
-            return element;
+            Arrays.fill(elems, 0, count, null);
+            count = 0;
         }
     }
 }
@@ -15,25 +15,41 @@
  */
 package edu.frostburg.Cosc310BigInt.skraoofi0;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
 
 /**
  * Convenience class for instantiating a List implementation.
  *
  * One could select which List implementation by passing in a {@link Class}
- * object or using its fully qualified name.
+ * object or using its fully qualified name, or by passing in a
+ * {@link Supplier} such as {@code ByteList::new} or
+ * {@code () -> LinkedList.unrolled(64)}. {@link ByteList} is the one to pick
+ * for lists of bytes as it stores them unboxed.
+ *
+ * Lists can be created with an expected size. Implementations which can use
+ * it, such as ArrayList or ByteList, are then created with that capacity so
+ * they never have to grow while being filled.
  *
  * @author Kevin Raoofi
  */
 public class ListFactory {
 
     /**
-     * Constructor for the List
+     * Creates an empty List
+     */
+    private final Supplier<? extends List<?>> supplier;
+
+    /**
+     * Creates an empty List with room for a number of elements; null if the
+     * implementation can't be told
      */
-    private final Constructor<? extends List> defCon;
+    private final IntFunction<? extends List<?>> sized;
 
     /**
      * Defaults to {@link LinkedList}
@@ -47,9 +63,11 @@ public class ListFactory {
      *
      * @param className fully qualified name of class
      * @throws ClassNotFoundException if class cannot be found
+     * @throws IllegalArgumentException if the class is not a List
      */
-    public ListFactory(String className) throws ClassNotFoundException {
-        this((Class<List>) Class.forName(className));
+    public ListFactory(String className) throws ClassNotFoundException,
+            IllegalArgumentException {
+        this(Class.forName(className));
     }
 
     /**
@@ -57,36 +75,141 @@ public class ListFactory {
      * which does not have a no argument constructor, it will be thrown as a
      * {@link RuntimeException}. Otherwise, this method should be safe.
      *
-     * @param listImplementation the class to instantiate
+     * If the class also has a public constructor taking an int, it is assumed
+     * to be an initial capacity and is used by {@link #create(int)}.
+     *
+     * The constructors are looked up once as method handles, which are much
+     * cheaper to call than reflection.
+     *
+     * @param listImplementation the class to instantiate; it must implement
+     *                           List
+     * @throws IllegalArgumentException if the class is not a List
+     */
+    public ListFactory(Class<?> listImplementation)
+            throws IllegalArgumentException {
+        if (!List.class.isAssignableFrom(listImplementation)) {
+            throw new IllegalArgumentException(listImplementation.getName()
+                    + " is not a List");
+        }
+        final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        final MethodHandle noArg;
+        try {
+            noArg = lookup.findConstructor(listImplementation, MethodType
+                    .methodType(void.class)).asType(MethodType.methodType(
+                                    List.class));
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            throw new RuntimeException(ex);
+        }
+        MethodHandle withCapacity;
+        try {
+            withCapacity = lookup.findConstructor(listImplementation,
+                    MethodType.methodType(void.class, int.class)).asType(
+                            MethodType.methodType(List.class, int.class));
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            withCapacity = null;
+        }
+
+        this.supplier = () -> invoke(noArg);
+        if (withCapacity == null) {
+            this.sized = null;
+        } else {
+            final MethodHandle h = withCapacity;
+            this.sized = expectedSize -> invoke(h, expectedSize);
+        }
+    }
+
+    /**
+     * Calls a no argument constructor handle.
+     *
+     * @param constructor the handle, typed to return a List
+     * @return the new List
      */
-    public ListFactory(
-            Class<? extends List> listImplementation) {
+    private static List<?> invoke(final MethodHandle constructor) {
         try {
-            defCon = listImplementation.getConstructor(new Class[]{});
-        } catch (NoSuchMethodException | SecurityException ex) {
+            return (List<?>) constructor.invokeExact();
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
             throw new RuntimeException(ex);
         }
     }
 
+    /**
+     * Calls a constructor handle taking an initial capacity.
+     *
+     * @param constructor  the handle, typed to take an int and return a List
+     * @param expectedSize the capacity to pass on
+     * @return the new List
+     */
+    private static List<?> invoke(final MethodHandle constructor,
+            final int expectedSize) {
+        try {
+            return (List<?>) constructor.invokeExact(expectedSize);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * Constructor which takes a function creating empty Lists, such as
+     * {@code java.util.LinkedList::new}.
+     *
+     * @param supplier creates an empty List on every call
+     */
+    public ListFactory(Supplier<? extends List<?>> supplier) {
+        this(supplier, null);
+    }
+
+    /**
+     * Constructor which takes functions creating empty Lists with and without
+     * an expected size, such as {@code ArrayList::new} for both.
+     *
+     * @param supplier creates an empty List on every call
+     * @param sized    creates an empty List with room for the given number of
+     *                 elements on every call; null to always use supplier
+     */
+    public ListFactory(Supplier<? extends List<?>> supplier,
+            IntFunction<? extends List<?>> sized) {
+        if (supplier == null) {
+            throw new NullPointerException("supplier");
+        }
+        this.supplier = supplier;
+        this.sized = sized;
+    }
+
     /**
      * Creates an instance of the List
      *
      * @param <E> the type of elements to hold
      * @return an instance of the specified List implementation
      */
+    @SuppressWarnings("unchecked") // the List is empty so it can hold any E
     public <E> List<E> create() {
-        try {
-            return defCon.newInstance();
-        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
-            throw new RuntimeException(ex);
-        }
+        return (List<E>) supplier.get();
+    }
+
+    /**
+     * Creates an instance of the List which is about to be filled with a
+     * number of elements. The size is only a hint; implementations which
+     * can't take one are created as with {@link #create()}.
+     *
+     * @param <E>          the type of elements to hold
+     * @param expectedSize the number of elements the List will likely hold
+     * @return an instance of the specified List implementation
+     */
+    @SuppressWarnings("unchecked") // the List is empty so it can hold any E
+    public <E> List<E> create(int expectedSize) {
+        return (List<E>) (sized == null ? supplier.get() : sized.apply(
+                Math.max(0, expectedSize)));
     }
 
     /**
      * Creates a List and populates it with the contents of the given
-     * Collection. Just a convenience method as it calls {@link #create()} and
-     * then calls {@link Collection#addAll(java.util.Collection)} on the freshly
-     * created List.
+     * Collection. Just a convenience method as it calls {@link #create(int)}
+     * and then calls {@link Collection#addAll(java.util.Collection)} on the
+     * freshly created List.
      *
      * @param <E> the type of elements to hold
      * @param col collection to add to the newly created List
@@ -94,7 +217,7 @@ public class ListFactory {
      *         contents of col in it
      */
     public <E> List<E> create(Collection<E> col) {
-        List<E> result = create();
+        List<E> result = create(col.size());
         result.addAll(col);
         return result;
     }
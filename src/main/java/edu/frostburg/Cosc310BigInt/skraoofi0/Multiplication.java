@@ -0,0 +1,453 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.Cosc310BigInt.skraoofi0;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Multiplication of magnitudes made of base 10<sup>9</sup> limbs. See
+ * {@link Limbs} for the layout of a magnitude.
+ *
+ * The algorithm is picked by the size of the smaller operand, checking in
+ * this order:
+ * <ul>
+ * <li>below {@link #karatsubaThreshold} limbs the schoolbook method is
+ * used</li>
+ * <li>from {@link #nttThreshold} limbs the product is computed as a
+ * convolution with {@link NumberTheoreticTransform}, as long as the product
+ * is no longer than {@link NumberTheoreticTransform#MAX_LENGTH} limbs</li>
+ * <li>if the smaller operand is at most half as long as the larger one, the
+ * larger one is cut into pieces as long as the smaller one</li>
+ * <li>from {@link #toomThreshold} limbs {@link ToomCook3} splits the operands
+ * in thirds and recurses using five products instead of nine</li>
+ * <li>otherwise Karatsuba's method splits the operands in half and recurses
+ * using three products instead of four</li>
+ * </ul>
+ *
+ * With the default thresholds that is schoolbook below 48 limbs, Karatsuba
+ * below 1200 limbs and the transform from there up to products of
+ * 2<sup>24</sup> limbs. Toom-Cook only takes over for products too long for
+ * the transform, or when {@link #nttThreshold} is raised above
+ * {@link #toomThreshold}.
+ *
+ * Products whose smaller operand has at least {@link #parallelThreshold} limbs
+ * are computed in a {@link ForkJoinPool} of {@link #parallelism} threads. The
+ * three products of Karatsuba's method, the five of Toom-Cook and the three
+ * convolutions and the butterflies of the transform are then forked as tasks.
+ * Every task writes to its own limbs and the pieces are combined in the same
+ * order as they would be on one thread, so the result does not depend on the
+ * scheduling.
+ *
+ * With the default thresholds every product of {@link #parallelThreshold}
+ * limbs or more goes to the transform, so only the transform is parallel;
+ * Karatsuba's method never sees operands that long and Toom-Cook only runs
+ * for products too long for the transform. The Karatsuba and Toom-Cook forks
+ * take effect when {@link #nttThreshold} is raised above
+ * {@link #parallelThreshold}, and for products past the transform's limit.
+ *
+ * Thresholds may be tuned with the system properties
+ * {@code edu.frostburg.bigint.karatsubaThreshold},
+ * {@code edu.frostburg.bigint.toomThreshold},
+ * {@code edu.frostburg.bigint.nttThreshold} and
+ * {@code edu.frostburg.bigint.parallelThreshold}, and the number of threads
+ * with {@code edu.frostburg.bigint.parallelism}. A parallelism of 1 keeps
+ * every product on the calling thread. They may also be changed while the
+ * program runs; products started afterwards on any thread use the new values.
+ *
+ * @author Kevin Raoofi
+ */
+final class Multiplication {
+
+    /**
+     * The number of limbs the smaller operand needs before Karatsuba's method
+     * is used
+     */
+    static volatile int karatsubaThreshold = Integer.getInteger(
+            "edu.frostburg.bigint.karatsubaThreshold", 48);
+
+    /**
+     * The number of limbs the smaller operand needs before Toom-Cook 3-way
+     * multiplication is used
+     */
+    static volatile int toomThreshold = Integer.getInteger(
+            "edu.frostburg.bigint.toomThreshold", 3000);
+
+    /**
+     * The number of limbs the smaller operand needs before the product is
+     * computed with a number theoretic transform
+     */
+    static volatile int nttThreshold = Integer.getInteger(
+            "edu.frostburg.bigint.nttThreshold", 1200);
+
+    /**
+     * The number of limbs the smaller operand needs before the subproducts
+     * are computed in parallel. At the default it is above
+     * {@link #nttThreshold}, so Karatsuba's method is never forked unless
+     * that is raised too.
+     */
+    static volatile int parallelThreshold = Integer.getInteger(
+            "edu.frostburg.bigint.parallelThreshold", 2000);
+
+    /**
+     * The number of threads parallel products use
+     */
+    static volatile int parallelism = Integer.getInteger(
+            "edu.frostburg.bigint.parallelism", Runtime.getRuntime()
+            .availableProcessors());
+
+    /**
+     * The pool parallel work goes to; made when first needed and replaced
+     * when {@link #parallelism} changes. Guarded by the class.
+     */
+    private static SharedPool shared;
+
+    private Multiplication() {
+    }
+
+    /**
+     * Takes a share of the pool for parallel work, making a new pool if
+     * {@link #parallelism} has changed since the last one was made. A pool
+     * which is replaced is shut down once its last share is handed back, so
+     * work already given to it always finishes.
+     *
+     * @return the pool, which must be handed back with
+     *         {@link #release(SharedPool)}
+     */
+    private static synchronized SharedPool acquire() {
+        if (shared == null || shared.pool.getParallelism() != parallelism) {
+            if (shared != null) {
+                shared.replaced = true;
+                if (shared.users == 0) {
+                    shared.pool.shutdown();
+                }
+            }
+            shared = new SharedPool(parallelism);
+        }
+        shared.users++;
+        return shared;
+    }
+
+    /**
+     * Hands back a share of a pool, shutting the pool down if it has been
+     * replaced and this was the last share.
+     *
+     * @param p the pool from {@link #acquire()}
+     */
+    private static synchronized void release(final SharedPool p) {
+        p.users--;
+        if (p.replaced && p.users == 0) {
+            p.pool.shutdown();
+        }
+    }
+
+    /**
+     * The pool new parallel work would go to, for checking how pools are
+     * replaced.
+     *
+     * @return the pool; null if none has been needed yet
+     */
+    static synchronized ForkJoinPool currentPool() {
+        return shared == null ? null : shared.pool;
+    }
+
+    /**
+     * Runs work in the pool and waits for it to finish. Work started from a
+     * thread which is already in one of the pools runs right there.
+     *
+     * @param work the work to run
+     */
+    static void invoke(final Runnable work) {
+        if (Thread.currentThread() instanceof Worker) {
+            work.run();
+            return;
+        }
+        final SharedPool p = acquire();
+        try {
+            p.pool.invoke(ForkJoinTask.adapt(work));
+        } finally {
+            release(p);
+        }
+    }
+
+    /**
+     * Checks whether a product should fork its subproducts.
+     *
+     * @param len the number of limbs in the smaller operand
+     * @return true if the product is large enough and is being computed in
+     *         one of the pools
+     */
+    static boolean forking(final int len) {
+        return len >= parallelThreshold && parallelism > 1
+                && Thread.currentThread() instanceof Worker;
+    }
+
+    /**
+     * Computes independent pieces of a product. The pieces are forked as
+     * tasks if {@link #forking(int)} and are otherwise run one after another
+     * in order. Either way, every piece has finished when this returns.
+     *
+     * @param len    the number of limbs in the smaller operand
+     * @param pieces the pieces; each must write only to memory no other piece
+     *               reads or writes
+     */
+    static void fork(final int len, final Runnable... pieces) {
+        if (forking(len)) {
+            final ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[pieces.length];
+            for (int i = 0; i < pieces.length; i++) {
+                tasks[i] = ForkJoinTask.adapt(pieces[i]);
+            }
+            ForkJoinTask.invokeAll(tasks);
+        } else {
+            for (final Runnable piece : pieces) {
+                piece.run();
+            }
+        }
+    }
+
+    /**
+     * Multiplies two magnitudes.
+     *
+     * @param a first magnitude
+     * @param b second magnitude
+     * @return a * b
+     */
+    static int[] multiply(final int[] a, final int[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return Limbs.ZERO;
+        }
+        final int[] result = new int[a.length + b.length];
+        final Runnable product = () -> multiply(a, 0, a.length, b, 0,
+                b.length, result, 0);
+        if (Math.min(a.length, b.length) >= parallelThreshold
+                && parallelism > 1) {
+            invoke(product);
+        } else {
+            product.run();
+        }
+        return Limbs.trim(result);
+    }
+
+    /**
+     * Multiplies two ranges of limbs and writes the product to the range
+     * {@code r[rOff, rOff + aLen + bLen)}, which must be zeroed beforehand.
+     *
+     * @param a    first operand
+     * @param aOff index of the least significant limb of the first operand
+     * @param aLen number of limbs in the first operand
+     * @param b    second operand
+     * @param bOff index of the least significant limb of the second operand
+     * @param bLen number of limbs in the second operand
+     * @param r    where the product is written to
+     * @param rOff index of the least significant limb of the product
+     */
+    static void multiply(final int[] a, final int aOff, final int aLen,
+            final int[] b, final int bOff, final int bLen, final int[] r,
+            final int rOff) {
+        if (aLen < bLen) {
+            multiply(b, bOff, bLen, a, aOff, aLen, r, rOff);
+        } else if (bLen < karatsubaThreshold) {
+            schoolbook(a, aOff, aLen, b, bOff, bLen, r, rOff);
+        } else if (bLen >= nttThreshold && aLen + bLen
+                <= NumberTheoreticTransform.MAX_LENGTH) {
+            NumberTheoreticTransform.multiply(a, aOff, aLen, b, bOff, bLen,
+                    r, rOff);
+        } else if (bLen <= aLen / 2) {
+            unbalanced(a, aOff, aLen, b, bOff, bLen, r, rOff);
+        } else if (bLen >= toomThreshold) {
+            ToomCook3.multiply(a, aOff, aLen, b, bOff, bLen, r, rOff);
+        } else {
+            karatsuba(a, aOff, aLen, b, bOff, bLen, r, rOff);
+        }
+    }
+
+    /**
+     * Schoolbook multiplication. See
+     * {@link #multiply(int[], int, int, int[], int, int, int[], int)} for the
+     * parameters.
+     */
+    static void schoolbook(final int[] a, final int aOff, final int aLen,
+            final int[] b, final int bOff, final int bLen, final int[] r,
+            final int rOff) {
+        for (int i = 0; i < aLen; i++) {
+            final long ai = a[aOff + i];
+            if (ai == 0) {
+                continue;
+            }
+            long carry = 0;
+            final int base = rOff + i;
+            for (int j = 0; j < bLen; j++) {
+                long t = ai * b[bOff + j] + r[base + j] + carry;
+                carry = t / Limbs.BASE;
+                r[base + j] = (int) (t - carry * Limbs.BASE);
+            }
+            r[base + bLen] = (int) carry;
+        }
+    }
+
+    /**
+     * Multiplies when the first operand is at least twice as long as the
+     * second by cutting the first operand into pieces as long as the second.
+     * Splitting the operands in half would otherwise leave Karatsuba's method
+     * working on an empty upper half. See
+     * {@link #multiply(int[], int, int, int[], int, int, int[], int)} for the
+     * parameters.
+     */
+    private static void unbalanced(final int[] a, final int aOff,
+            final int aLen, final int[] b, final int bOff, final int bLen,
+            final int[] r, final int rOff) {
+        final int[] piece = new int[2 * bLen];
+        for (int off = 0; off < aLen; off += bLen) {
+            final int len = Math.min(bLen, aLen - off);
+            Arrays.fill(piece, 0);
+            multiply(a, aOff + off, len, b, bOff, bLen, piece, 0);
+            addInto(r, rOff + off, aLen + bLen - off, piece, 0, len + bLen);
+        }
+    }
+
+    /**
+     * Karatsuba multiplication. The second operand must be more than half as
+     * long as the first. See
+     * {@link #multiply(int[], int, int, int[], int, int, int[], int)} for the
+     * parameters.
+     */
+    private static void karatsuba(final int[] a, final int aOff,
+            final int aLen, final int[] b, final int bOff, final int bLen,
+            final int[] r, final int rOff) {
+        final int half = (aLen + 1) / 2;
+        final int a1Len = aLen - half;
+        final int b1Len = bLen - half;
+
+        // z1 = (a0 + a1) * (b0 + b1) - z0 - z2
+        final int[] sa = new int[half + 1];
+        final int[] sb = new int[half + 1];
+        System.arraycopy(a, aOff, sa, 0, half);
+        System.arraycopy(b, bOff, sb, 0, half);
+        addInto(sa, 0, half + 1, a, aOff + half, a1Len);
+        addInto(sb, 0, half + 1, b, bOff + half, b1Len);
+        final int saLen = sa[half] == 0 ? half : half + 1;
+        final int sbLen = sb[half] == 0 ? half : half + 1;
+        final int[] z1 = new int[2 * half + 2];
+
+        // z0 = a0 * b0 and z2 = a1 * b1 go straight to where they belong
+        fork(bLen,
+                () -> multiply(a, aOff, half, b, bOff, half, r, rOff),
+                () -> {
+                    if (b1Len > 0) {
+                        multiply(a, aOff + half, a1Len, b, bOff + half, b1Len,
+                                r, rOff + 2 * half);
+                    }
+                },
+                () -> multiply(sa, 0, saLen, sb, 0, sbLen, z1, 0));
+        subtractInto(z1, 0, z1.length, r, rOff, 2 * half);
+        if (b1Len > 0) {
+            subtractInto(z1, 0, z1.length, r, rOff + 2 * half, a1Len + b1Len);
+        }
+        addInto(r, rOff + half, aLen + bLen - half, z1, 0, z1.length);
+    }
+
+    /**
+     * Adds {@code x[xOff, xOff + xLen)} to {@code r[rOff, rOff + rLen)} in
+     * place. Any limbs of x beyond rLen must be 0 and the sum must fit within
+     * rLen limbs.
+     *
+     * @param r    the range to add to
+     * @param rOff index of the least significant limb of r
+     * @param rLen number of limbs in r
+     * @param x    the range to add
+     * @param xOff index of the least significant limb of x
+     * @param xLen number of limbs in x
+     */
+    static void addInto(final int[] r, final int rOff, final int rLen,
+            final int[] x, final int xOff, final int xLen) {
+        final int len = Math.min(rLen, xLen);
+        int carry = 0;
+        int i = 0;
+        for (; i < len; i++) {
+            int sum = r[rOff + i] + x[xOff + i] + carry;
+            carry = sum >= Limbs.BASE ? 1 : 0;
+            r[rOff + i] = sum - (carry == 1 ? Limbs.BASE : 0);
+        }
+        for (; carry != 0 && i < rLen; i++) {
+            int sum = r[rOff + i] + 1;
+            carry = sum == Limbs.BASE ? 1 : 0;
+            r[rOff + i] = carry == 1 ? 0 : sum;
+        }
+    }
+
+    /**
+     * Subtracts {@code y[yOff, yOff + yLen)} from {@code x[xOff, xOff + xLen)}
+     * in place. The difference must not be negative.
+     *
+     * @param x    the range to subtract from
+     * @param xOff index of the least significant limb of x
+     * @param xLen number of limbs in x
+     * @param y    the range to subtract
+     * @param yOff index of the least significant limb of y
+     * @param yLen number of limbs in y
+     */
+    static void subtractInto(final int[] x, final int xOff, final int xLen,
+            final int[] y, final int yOff, final int yLen) {
+        final int len = Math.min(xLen, yLen);
+        int borrow = 0;
+        int i = 0;
+        for (; i < len; i++) {
+            int diff = x[xOff + i] - y[yOff + i] - borrow;
+            borrow = diff < 0 ? 1 : 0;
+            x[xOff + i] = diff + (borrow == 1 ? Limbs.BASE : 0);
+        }
+        for (; borrow != 0 && i < xLen; i++) {
+            int diff = x[xOff + i] - 1;
+            borrow = diff < 0 ? 1 : 0;
+            x[xOff + i] = borrow == 1 ? Limbs.BASE - 1 : diff;
+        }
+    }
+
+    /**
+     * A pool along with how many callers are waiting on it
+     */
+    private static final class SharedPool {
+
+        final ForkJoinPool pool;
+        /**
+         * Callers which have taken a share and not handed it back
+         */
+        int users;
+        /**
+         * Whether a newer pool has taken this one's place
+         */
+        boolean replaced;
+
+        SharedPool(final int parallelism) {
+            this.pool = new ForkJoinPool(parallelism, Worker::new, null,
+                    false);
+        }
+    }
+
+    /**
+     * The threads of the pools, so that work can tell it is already running
+     * in one of them, whichever pool that is
+     */
+    private static final class Worker extends ForkJoinWorkerThread {
+
+        Worker(final ForkJoinPool pool) {
+            super(pool);
+            setDaemon(true);
+        }
+    }
+}
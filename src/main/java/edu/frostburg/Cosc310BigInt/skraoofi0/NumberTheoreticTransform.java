@@ -0,0 +1,432 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.Cosc310BigInt.skraoofi0;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Multiplication of magnitudes by number theoretic transforms.
+ *
+ * The limbs of each operand are treated as the coefficients of a polynomial
+ * and convolved modulo three word sized primes. Each coefficient of the
+ * product is below n &middot; 10<sup>18</sup>, which is well under the
+ * product of the three primes for any length the primes support, so the exact
+ * coefficients are recovered with the Chinese remainder theorem (Garner's
+ * method) before the carries are propagated.
+ *
+ * Modular products use Montgomery reduction so that the transforms never
+ * divide.
+ *
+ * When {@link Multiplication#forking(int)}, the three convolutions are forked
+ * and each stage of a transform splits its butterflies into tasks of at least
+ * {@link #GRAIN} butterflies. The butterflies of a stage touch disjoint
+ * values, so the transform is the same however the stage is split.
+ *
+ * @author Kevin Raoofi
+ */
+final class NumberTheoreticTransform {
+
+    /**
+     * The longest transform every prime supports. The product of two operands
+     * must have no more limbs than this.
+     */
+    static final int MAX_LENGTH = 1 << 24;
+
+    /**
+     * The number of butterflies a stage of a parallel transform leaves to a
+     * single task
+     */
+    private static final int GRAIN = 1 << 13;
+
+    /**
+     * The primes the convolution is done under along with a primitive root of
+     * each
+     */
+    private static final Prime P1 = new Prime(167772161, 3); // 5 * 2^25 + 1
+    private static final Prime P2 = new Prime(469762049, 3); // 7 * 2^26 + 1
+    private static final Prime P3 = new Prime(754974721, 11); // 45 * 2^24 + 1
+
+    /**
+     * p1<sup>-1</sup> mod p2
+     */
+    private static final long P1_INV_P2 = P2.pow(P1.p % P2.p, P2.p - 2);
+    /**
+     * (p1 * p2)<sup>-1</sup> mod p3
+     */
+    private static final long P12_INV_P3 = P3.pow(
+            (long) P1.p * P2.p % P3.p, P3.p - 2);
+    /**
+     * p1 * p2 split into limbs
+     */
+    private static final long P12_LO = (long) P1.p * P2.p % Limbs.BASE;
+    private static final long P12_HI = (long) P1.p * P2.p / Limbs.BASE;
+
+    private NumberTheoreticTransform() {
+    }
+
+    /**
+     * Multiplies two ranges of limbs and writes the product to the range
+     * {@code r[rOff, rOff + aLen + bLen)}. The product must have no more than
+     * {@link #MAX_LENGTH} limbs.
+     *
+     * @param a    first operand
+     * @param aOff index of the least significant limb of the first operand
+     * @param aLen number of limbs in the first operand
+     * @param b    second operand
+     * @param bOff index of the least significant limb of the second operand
+     * @param bLen number of limbs in the second operand
+     * @param r    where the product is written to
+     * @param rOff index of the least significant limb of the product
+     */
+    static void multiply(final int[] a, final int aOff, final int aLen,
+            final int[] b, final int bOff, final int bLen, final int[] r,
+            final int rOff) {
+        final int n = Integer.highestOneBit(aLen + bLen - 1) << 1;
+        if (n > MAX_LENGTH) {
+            throw new ArithmeticException("Operands too long to transform: "
+                    + aLen + " and " + bLen + " limbs");
+        }
+        final boolean square = a == b && aOff == bOff && aLen == bLen;
+
+        final boolean parallel = Multiplication.forking(bLen);
+
+        final int[][] c = new int[3][];
+        Multiplication.fork(bLen,
+                () -> c[0] = P1.convolve(a, aOff, aLen, b, bOff, bLen, n,
+                        square, parallel),
+                () -> c[1] = P2.convolve(a, aOff, aLen, b, bOff, bLen, n,
+                        square, parallel),
+                () -> c[2] = P3.convolve(a, aOff, aLen, b, bOff, bLen, n,
+                        square, parallel));
+
+        recombine(c[0], c[1], c[2], aLen + bLen - 1, r, rOff, aLen + bLen);
+    }
+
+    /**
+     * Recovers each coefficient from its three residues and writes the
+     * coefficients to r as limbs, propagating the carries.
+     *
+     * @param c1    residues modulo p1
+     * @param c2    residues modulo p2
+     * @param c3    residues modulo p3
+     * @param count the number of coefficients
+     * @param r     where the product is written to
+     * @param rOff  index of the least significant limb of the product
+     * @param rLen  the number of limbs in the product
+     */
+    private static void recombine(final int[] c1, final int[] c2,
+            final int[] c3, final int count, final int[] r, final int rOff,
+            final int rLen) {
+        final long p1 = P1.p;
+        final long p2 = P2.p;
+        final long p3 = P3.p;
+        final long p1ModP3 = p1 % p3;
+
+        // each coefficient is up to three limbs wide; acc0 is the limb being
+        // finished while acc1 and acc2 collect what spills into the next two
+        long acc0 = 0;
+        long acc1 = 0;
+        long acc2 = 0;
+        for (int k = 0; k < rLen; k++) {
+            if (k < count) {
+                // Garner: value = t1 + p1 * t2 + p1 * p2 * t3
+                final long t1 = c1[k];
+                long t2 = (c2[k] - t1 % p2) % p2;
+                t2 = (t2 < 0 ? t2 + p2 : t2) * P1_INV_P2 % p2;
+                long t3 = (c3[k] - t1 % p3 - t2 * p1ModP3 % p3) % p3;
+                t3 = (t3 < 0 ? t3 + p3 : t3) * P12_INV_P3 % p3;
+
+                final long low = t1 + p1 * t2;
+                final long lo = low % Limbs.BASE + t3 * P12_LO;
+                final long mid = lo / Limbs.BASE + low / Limbs.BASE + t3
+                        * P12_HI;
+                acc0 += lo % Limbs.BASE;
+                acc1 += mid % Limbs.BASE;
+                acc2 += mid / Limbs.BASE;
+            }
+            r[rOff + k] = (int) (acc0 % Limbs.BASE);
+            acc0 = acc1 + acc0 / Limbs.BASE;
+            acc1 = acc2;
+            acc2 = 0;
+        }
+    }
+
+    /**
+     * Arithmetic modulo a single NTT friendly prime below 2<sup>30</sup>.
+     * Values are reduced with Montgomery reduction using R = 2<sup>32</sup>.
+     */
+    private static final class Prime {
+
+        /**
+         * The prime
+         */
+        final int p;
+        /**
+         * A primitive root of p
+         */
+        final int g;
+        /**
+         * -p<sup>-1</sup> mod 2<sup>32</sup>
+         */
+        final int pInvNeg;
+        /**
+         * R<sup>2</sup> mod p
+         */
+        final long r2;
+
+        Prime(int p, int g) {
+            this.p = p;
+            this.g = g;
+            int inv = p; // Newton's iteration doubles the correct bits
+            for (int i = 0; i < 5; i++) {
+                inv *= 2 - p * inv;
+            }
+            this.pInvNeg = -inv;
+            final long r = (1L << 32) % p;
+            this.r2 = r * r % p;
+        }
+
+        /**
+         * Montgomery reduction.
+         *
+         * @param t a value below p * 2<sup>32</sup>
+         * @return t * R<sup>-1</sup> mod p, within [0, p)
+         */
+        int redc(final long t) {
+            final long m = ((int) t * pInvNeg) & 0xFFFFFFFFL;
+            final int u = (int) ((t + m * p) >>> 32);
+            return u >= p ? u - p : u;
+        }
+
+        /**
+         * Converts to Montgomery form.
+         *
+         * @param x a value within [0, p)
+         * @return x * R mod p
+         */
+        int toMontgomery(final long x) {
+            return redc(x * r2);
+        }
+
+        /**
+         * Modular exponentiation without Montgomery form.
+         *
+         * @param base the base; within [0, p)
+         * @param exp  the exponent
+         * @return base<sup>exp</sup> mod p
+         */
+        long pow(long base, long exp) {
+            long result = 1;
+            for (; exp > 0; exp >>= 1, base = base * base % p) {
+                if ((exp & 1) == 1) {
+                    result = result * base % p;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Computes the cyclic convolution of the two operands modulo p.
+         *
+         * @param n        the transform length; a power of two
+         * @param square   whether both operands are the same range
+         * @param parallel whether to split the transforms into tasks; only
+         *                 when running in a fork join pool
+         * @return the convolution; the first aLen + bLen - 1 entries are the
+         * coefficients of the product modulo p
+         */
+        int[] convolve(final int[] a, final int aOff, final int aLen,
+                final int[] b, final int bOff, final int bLen, final int n,
+                final boolean square, final boolean parallel) {
+            final int[] fa = load(a, aOff, aLen, n);
+            transform(fa, false, parallel);
+            final int[] fb;
+            if (square) {
+                fb = fa;
+            } else {
+                fb = load(b, bOff, bLen, n);
+                transform(fb, false, parallel);
+            }
+
+            for (int i = 0; i < n; i++) {
+                fa[i] = redc((long) fa[i] * fb[i]);
+            }
+            transform(fa, true, parallel);
+
+            // the pointwise product left a factor of R^-1 behind, so scaling
+            // by n^-1 * R^2 in one reduction undoes both it and the n
+            final long scale = pow(n, p - 2) * r2 % p;
+            for (int i = 0; i < n; i++) {
+                fa[i] = redc(fa[i] * scale);
+            }
+            return fa;
+        }
+
+        /**
+         * Copies limbs into a zero padded array reducing each one modulo p.
+         */
+        private int[] load(final int[] a, final int off, final int len,
+                final int n) {
+            final int[] result = new int[n];
+            for (int i = 0; i < len; i++) {
+                result[i] = a[off + i] % p;
+            }
+            return result;
+        }
+
+        /**
+         * In-place iterative radix-2 transform. The values are not in
+         * Montgomery form but the twiddle factors are, so each butterfly's
+         * reduction cancels out the R the twiddle factor carries.
+         *
+         * @param a        values to transform; its length must be a power of
+         *                 two
+         * @param inverse  whether to do the inverse transform; no scaling by
+         *                 n<sup>-1</sup> is done
+         * @param parallel whether to split each stage into tasks
+         */
+        void transform(final int[] a, final boolean inverse,
+                final boolean parallel) {
+            final int n = a.length;
+            for (int i = 1, j = 0; i < n; i++) {
+                int bit = n >> 1;
+                for (; (j & bit) != 0; bit >>= 1) {
+                    j ^= bit;
+                }
+                j ^= bit;
+                if (i < j) {
+                    int t = a[i];
+                    a[i] = a[j];
+                    a[j] = t;
+                }
+            }
+
+            final int[] roots = roots(n, inverse);
+            for (int half = 1; half < n; half <<= 1) {
+                if (parallel && n / 2 > GRAIN) {
+                    new Stage(this, a, roots, half, 0, n, 0, half).invoke();
+                } else {
+                    butterflies(a, roots, half, 0, n, 0, half);
+                }
+            }
+        }
+
+        /**
+         * Does part of one stage of a transform: the butterflies at offsets
+         * {@code [kFrom, kTo)} of the blocks of 2 * half values starting
+         * within {@code [iFrom, iTo)}.
+         *
+         * @param a     values being transformed
+         * @param roots the twiddle factors from {@link #roots(int, boolean)}
+         * @param half  half the block size of the stage
+         * @param iFrom index of the first block; a multiple of 2 * half
+         * @param iTo   index after the last block; a multiple of 2 * half
+         * @param kFrom first offset within each block
+         * @param kTo   offset after the last one within each block
+         */
+        void butterflies(final int[] a, final int[] roots, final int half,
+                final int iFrom, final int iTo, final int kFrom,
+                final int kTo) {
+            for (int i = iFrom; i < iTo; i += half << 1) {
+                for (int k = kFrom; k < kTo; k++) {
+                    final int u = a[i + k];
+                    final int v = redc((long) a[i + k + half]
+                            * roots[half + k]);
+                    final int sum = u + v;
+                    a[i + k] = sum >= p ? sum - p : sum;
+                    final int diff = u - v;
+                    a[i + k + half] = diff < 0 ? diff + p : diff;
+                }
+            }
+        }
+
+        /**
+         * Builds the twiddle factors for every stage of a transform. The
+         * factors for the stage combining blocks of 2 * half values are at
+         * {@code [half, 2 * half)} so each stage reads them sequentially.
+         *
+         * @param n       transform length
+         * @param inverse whether the factors are for the inverse transform
+         * @return the twiddle factors in Montgomery form
+         */
+        private int[] roots(final int n, final boolean inverse) {
+            final int[] roots = new int[n];
+            for (int half = 1; half < n; half <<= 1) {
+                long w = pow(g, (p - 1) / (half << 1));
+                if (inverse) {
+                    w = pow(w, p - 2);
+                }
+                final int wm = toMontgomery(w);
+                int cur = toMontgomery(1);
+                for (int k = 0; k < half; k++) {
+                    roots[half + k] = cur;
+                    cur = redc((long) cur * wm);
+                }
+            }
+            return roots;
+        }
+    }
+
+    /**
+     * A share of the butterflies of one transform stage. Stages early in the
+     * transform have many small blocks and are split between blocks; later
+     * stages have a few large blocks and are split within them.
+     */
+    private static final class Stage extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Prime prime;
+        private final int[] a;
+        private final int[] roots;
+        private final int half;
+        private final int iFrom;
+        private final int iTo;
+        private final int kFrom;
+        private final int kTo;
+
+        Stage(final Prime prime, final int[] a, final int[] roots,
+                final int half, final int iFrom, final int iTo,
+                final int kFrom, final int kTo) {
+            this.prime = prime;
+            this.a = a;
+            this.roots = roots;
+            this.half = half;
+            this.iFrom = iFrom;
+            this.iTo = iTo;
+            this.kFrom = kFrom;
+            this.kTo = kTo;
+        }
+
+        @Override
+        protected void compute() {
+            final int blocks = (iTo - iFrom) / (half << 1);
+            if ((long) blocks * (kTo - kFrom) <= GRAIN) {
+                prime.butterflies(a, roots, half, iFrom, iTo, kFrom, kTo);
+            } else if (blocks > 1) {
+                final int mid = iFrom + blocks / 2 * (half << 1);
+                invokeAll(new Stage(prime, a, roots, half, iFrom, mid, kFrom,
+                        kTo), new Stage(prime, a, roots, half, mid, iTo,
+                                kFrom, kTo));
+            } else {
+                final int mid = (kFrom + kTo) >>> 1;
+                invokeAll(new Stage(prime, a, roots, half, iFrom, iTo, kFrom,
+                        mid), new Stage(prime, a, roots, half, iFrom, iTo,
+                                mid, kTo));
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.Cosc310BigInt.skraoofi0;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Converts magnitudes between base 10<sup>9</sup> limbs and binary
+ * {@link BigInteger}s.
+ *
+ * Converting one limb at a time is quadratic, so both directions divide and
+ * conquer instead. Limbs are split in half and the halves are recombined with
+ * one BigInteger multiplication by a power of 10<sup>9 * 2<sup>k</sup></sup>.
+ * A BigInteger is split in half with a shift, which is free in binary, and the
+ * halves are recombined with one {@link Multiplication} by a power of
+ * 2<sup>32 * 2<sup>k</sup></sup>. Both trees of powers are cached, so a
+ * conversion costs about as much as a couple of full size multiplications.
+ *
+ * @author Kevin Raoofi
+ */
+final class RadixConversion {
+
+    /**
+     * The number of limbs at or below which limbs are combined one at a time
+     */
+    private static final int LIMB_THRESHOLD = 32;
+
+    /**
+     * The number of bits at or below which a BigInteger is converted a few
+     * bytes at a time
+     */
+    private static final int BIT_THRESHOLD = 1024;
+
+    private static final BigInteger BASE = BigInteger.valueOf(Limbs.BASE);
+
+    /**
+     * The cached powers; entry k is 10<sup>9 * 2<sup>k</sup></sup>. The array
+     * is replaced with a longer copy when more powers are needed.
+     */
+    private static volatile BigInteger[] powers = {BASE};
+
+    /**
+     * The cached powers of two as magnitudes; entry k is
+     * 2<sup>32 * 2<sup>k</sup></sup>. The array is replaced with a longer
+     * copy when more powers are needed.
+     */
+    private static volatile int[][] powersOfTwo = {Limbs.parse("4294967296",
+        0, 10)};
+
+    private RadixConversion() {
+    }
+
+    /**
+     * Finds 10<sup>9 * 2<sup>k</sup></sup>, squaring the largest cached power
+     * as many times as needed.
+     *
+     * @param k the power
+     * @return B<sup>2<sup>k</sup></sup>
+     */
+    private static BigInteger power(final int k) {
+        BigInteger[] cached = powers;
+        if (k < cached.length) {
+            return cached[k];
+        }
+        synchronized (RadixConversion.class) {
+            cached = powers;
+            if (k >= cached.length) {
+                final int old = cached.length;
+                cached = Arrays.copyOf(cached, k + 1);
+                for (int i = old; i <= k; i++) {
+                    cached[i] = cached[i - 1].multiply(cached[i - 1]);
+                }
+                powers = cached;
+            }
+            return cached[k];
+        }
+    }
+
+    /**
+     * Finds 2<sup>32 * 2<sup>k</sup></sup>, squaring the largest cached power
+     * as many times as needed.
+     *
+     * @param k the power
+     * @return 2<sup>32 * 2<sup>k</sup></sup> as a magnitude
+     */
+    private static int[] powerOfTwo(final int k) {
+        int[][] cached = powersOfTwo;
+        if (k < cached.length) {
+            return cached[k];
+        }
+        synchronized (RadixConversion.class) {
+            cached = powersOfTwo;
+            if (k >= cached.length) {
+                final int old = cached.length;
+                cached = Arrays.copyOf(cached, k + 1);
+                for (int i = old; i <= k; i++) {
+                    cached[i] = Multiplication.multiply(cached[i - 1],
+                            cached[i - 1]);
+                }
+                powersOfTwo = cached;
+            }
+            return cached[k];
+        }
+    }
+
+    /**
+     * Converts a magnitude to a BigInteger.
+     *
+     * @param a the magnitude
+     * @return the non-negative value as a BigInteger
+     */
+    static BigInteger toBigInteger(final int[] a) {
+        return toBigInteger(a, 0, a.length);
+    }
+
+    private static BigInteger toBigInteger(final int[] a, final int off,
+            final int len) {
+        if (len <= LIMB_THRESHOLD) {
+            BigInteger result = BigInteger.ZERO;
+            for (int i = off + len - 1; i >= off; i--) {
+                result = result.multiply(BASE).add(BigInteger.valueOf(a[i]));
+            }
+            return result;
+        }
+        // the low half is 2^k limbs so its scale is a cached power
+        final int k = 31 - Integer.numberOfLeadingZeros(len - 1);
+        final int half = 1 << k;
+        final BigInteger lo = toBigInteger(a, off, half);
+        final BigInteger hi = toBigInteger(a, off + half, len - half);
+        return hi.multiply(power(k)).add(lo);
+    }
+
+    /**
+     * Converts a BigInteger to a magnitude.
+     *
+     * @param x the value to convert; its sign is ignored
+     * @return the trimmed magnitude of x
+     */
+    static int[] fromBigInteger(final BigInteger x) {
+        final BigInteger abs = x.abs();
+        final int bits = abs.bitLength();
+        if (bits <= BIT_THRESHOLD) {
+            // Horner's rule over the bytes, three at a time
+            final byte[] bytes = abs.toByteArray();
+            int[] result = Limbs.ZERO;
+            for (int i = 0; i < bytes.length;) {
+                final int end = i == 0 ? (bytes.length - 1) % 3 + 1 : i + 3;
+                long chunk = 0;
+                for (; i < end; i++) {
+                    chunk = chunk << 8 | bytes[i] & 0xFF;
+                }
+                result = Limbs.multiplyAdd(result, 1 << 24, chunk);
+            }
+            return result;
+        }
+        // the low half is 32 * 2^k bits so its scale is a cached power
+        final int k = 31 - Integer.numberOfLeadingZeros((bits - 1) / 32);
+        final int shift = 32 << k;
+        final BigInteger hi = abs.shiftRight(shift);
+        final BigInteger lo = abs.subtract(hi.shiftLeft(shift));
+        return Limbs.add(Multiplication.multiply(fromBigInteger(hi),
+                powerOfTwo(k)), fromBigInteger(lo));
+    }
+}
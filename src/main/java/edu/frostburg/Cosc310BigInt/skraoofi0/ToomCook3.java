@@ -0,0 +1,194 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.Cosc310BigInt.skraoofi0;
+
+import java.util.Arrays;
+
+/**
+ * Toom-Cook 3-way multiplication of magnitudes.
+ *
+ * Each operand is split into three pieces which are treated as the
+ * coefficients of a quadratic. The quadratics are evaluated at 0, 1, -1, -2 and
+ * infinity, the five values are multiplied pairwise through
+ * {@link Multiplication}, and the product is interpolated back using Bodrato's
+ * sequence. That is five products a third of the size where a schoolbook split
+ * into thirds would need nine.
+ *
+ * The evaluations at negative points may be negative, so the intermediate
+ * values carry their own sign. The five products are independent and are
+ * forked when {@link Multiplication#forking(int)}.
+ *
+ * @author Kevin Raoofi
+ */
+final class ToomCook3 {
+
+    private ToomCook3() {
+    }
+
+    /**
+     * Multiplies two ranges of limbs and writes the product to the range
+     * {@code r[rOff, rOff + aLen + bLen)}, which must be zeroed beforehand.
+     * The first operand must not be shorter than the second.
+     *
+     * @param a    first operand
+     * @param aOff index of the least significant limb of the first operand
+     * @param aLen number of limbs in the first operand
+     * @param b    second operand
+     * @param bOff index of the least significant limb of the second operand
+     * @param bLen number of limbs in the second operand
+     * @param r    where the product is written to
+     * @param rOff index of the least significant limb of the product
+     */
+    static void multiply(final int[] a, final int aOff, final int aLen,
+            final int[] b, final int bOff, final int bLen, final int[] r,
+            final int rOff) {
+        final int k = (aLen + 2) / 3;
+
+        final Signed a0 = Signed.of(a, aOff, 0, k, aLen);
+        final Signed a1 = Signed.of(a, aOff, k, 2 * k, aLen);
+        final Signed a2 = Signed.of(a, aOff, 2 * k, 3 * k, aLen);
+        final Signed b0 = Signed.of(b, bOff, 0, k, bLen);
+        final Signed b1 = Signed.of(b, bOff, k, 2 * k, bLen);
+        final Signed b2 = Signed.of(b, bOff, 2 * k, 3 * k, bLen);
+
+        // evaluation
+        Signed p = a0.add(a2);
+        final Signed a1p = p.add(a1);
+        final Signed am1 = p.subtract(a1);
+        final Signed am2 = am1.add(a2).shiftLeft().subtract(a0);
+        p = b0.add(b2);
+        final Signed b1p = p.add(b1);
+        final Signed bm1 = p.subtract(b1);
+        final Signed bm2 = bm1.add(b2).shiftLeft().subtract(b0);
+
+        // pointwise products
+        final Signed[] products = new Signed[5];
+        Multiplication.fork(bLen,
+                () -> products[0] = a0.multiply(b0),
+                () -> products[1] = a1p.multiply(b1p),
+                () -> products[2] = am1.multiply(bm1),
+                () -> products[3] = am2.multiply(bm2),
+                () -> products[4] = a2.multiply(b2));
+        final Signed r0 = products[0];
+        Signed r1 = products[1];
+        final Signed rm1 = products[2];
+        final Signed rm2 = products[3];
+        final Signed rinf = products[4];
+
+        // interpolation
+        Signed r3 = rm2.subtract(r1).divide(3);
+        r1 = r1.subtract(rm1).divide(2);
+        Signed r2 = rm1.subtract(r0);
+        r3 = r2.subtract(r3).divide(2).add(rinf.shiftLeft());
+        r2 = r2.add(r1).subtract(rinf);
+        r1 = r1.subtract(r3);
+
+        final Signed[] coefficients = {r0, r1, r2, r3, rinf};
+        final int rLen = aLen + bLen;
+        for (int i = 0; i < coefficients.length; i++) {
+            final int[] c = coefficients[i].mag;
+            if (i * k < rLen) {
+                Multiplication.addInto(r, rOff + i * k, rLen - i * k, c, 0,
+                        c.length);
+            }
+        }
+    }
+
+    /**
+     * A signed magnitude for the evaluation and interpolation steps. Like the
+     * magnitudes in {@link Limbs}, these are never modified once made.
+     */
+    private static final class Signed {
+
+        /**
+         * -1, 0, or 1 for negative, zero, or positive values
+         */
+        final int sign;
+        /**
+         * Trimmed magnitude
+         */
+        final int[] mag;
+
+        Signed(final int sign, final int[] mag) {
+            this.sign = mag.length == 0 ? 0 : sign;
+            this.mag = mag;
+        }
+
+        /**
+         * Copies out one piece of an operand.
+         *
+         * @param a    the operand
+         * @param off  index of the least significant limb of the operand
+         * @param from index of the least significant limb of the piece
+         *             relative to off
+         * @param to   index after the most significant limb of the piece
+         *             relative to off
+         * @param len  number of limbs in the operand; the piece stops there
+         * @return the piece as a non-negative value
+         */
+        static Signed of(final int[] a, final int off, final int from,
+                final int to, final int len) {
+            if (from >= len) {
+                return new Signed(0, Limbs.ZERO);
+            }
+            return new Signed(1, Limbs.trim(Arrays.copyOfRange(a, off + from,
+                    off + Math.min(to, len))));
+        }
+
+        Signed negate() {
+            return new Signed(-sign, mag);
+        }
+
+        Signed add(final Signed o) {
+            if (o.sign == 0) {
+                return this;
+            }
+            if (sign == 0) {
+                return o;
+            }
+            if (sign == o.sign) {
+                return new Signed(sign, Limbs.add(mag, o.mag));
+            }
+            final int cmp = Limbs.compare(mag, o.mag);
+            return cmp >= 0
+                    ? new Signed(sign, Limbs.subtract(mag, o.mag))
+                    : new Signed(o.sign, Limbs.subtract(o.mag, mag));
+        }
+
+        Signed subtract(final Signed o) {
+            return add(o.negate());
+        }
+
+        Signed multiply(final Signed o) {
+            return new Signed(sign * o.sign, Multiplication.multiply(mag,
+                    o.mag));
+        }
+
+        Signed shiftLeft() {
+            return new Signed(sign, Limbs.multiply(mag, 2));
+        }
+
+        /**
+         * Divides by a small value which is known to divide this exactly.
+         *
+         * @param d the divisor
+         * @return this / d
+         */
+        Signed divide(final int d) {
+            return new Signed(sign, Limbs.divide(mag, d));
+        }
+    }
+}
@@ -27,6 +27,15 @@ public interface Cosc310BigIntCalculator {
     
     // a * b
     public String multiply(String a, String b);
+
+    // a / b, truncated towards zero
+    public String divide(String a, String b);
+
+    // a % b, with the sign of a
+    public String remainder(String a, String b);
+
+    // { a / b, a % b }
+    public String[] divideAndRemainder(String a, String b);
     
     /**
         Return your program's name here.
@@ -9,8 +9,14 @@ import java.io.*;
 import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 /**
  * TODO: Please complete me.
@@ -22,6 +28,14 @@ public class Cosc310LLTester {
     private static final char ADD = '+';
     private static final char SUB = '-';
     private static final char MUL = '*';
+    private static final char DIV = '/';
+    private static final char REM = '%';
+
+    /**
+     * How many problems each worker may have queued or running in
+     * {@link #testFromLines(Iterable, int)}
+     */
+    static final int IN_FLIGHT_PER_WORKER = 2;
 
     protected int wrongCount; // keep track of mistakes
     protected int problemNumber; // print nums
@@ -49,9 +63,15 @@ public class Cosc310LLTester {
         finishUp();
     }
 
+    /**
+     * Checks every problem in a file in order on this thread. The file is read
+     * as the work goes rather than all at once.
+     *
+     * @param filename the file of problems
+     * @throws IOException if the file can't be read
+     */
     public void testFromFile(String filename) throws IOException {
-        List<String> lines = arrayFromFile(filename);
-        testFromLines(lines);
+        testFromFile(filename, 1);
     }
 
     public void testFromLines(Iterable<String> lines) {
@@ -71,6 +91,12 @@ public class Cosc310LLTester {
                 case MUL:
                     validateMultiplication(studentCalc, a, b);
                     break;
+                case DIV:
+                    validateDivision(studentCalc, a, b);
+                    break;
+                case REM:
+                    validateRemainder(studentCalc, a, b);
+                    break;
                 default:
                     System.out.printf("Don't understand %s %s %s%n", a, o, b);
             }
@@ -78,8 +104,83 @@ public class Cosc310LLTester {
         finishUp();
     }
 
-    private List<String> arrayFromFile(String filename) throws IOException {
-        return Files.readAllLines(Paths.get(filename));
+    /**
+     * Checks every problem in a file using several threads. The file is read
+     * as the work goes rather than all at once.
+     *
+     * @param filename the file of problems
+     * @param workers  the number of threads; 1 checks them in order on this
+     *                 thread
+     * @throws IOException if the file can't be read
+     */
+    public void testFromFile(String filename, int workers) throws IOException {
+        try (Stream<String> lines = Files.lines(Paths.get(filename))) {
+            testFromLines(lines::iterator, workers);
+        }
+    }
+
+    /**
+     * Checks problems on several threads at once. The report is printed in
+     * the same order and with the same numbers as
+     * {@link #testFromLines(Iterable)} would print it. At most
+     * {@link #IN_FLIGHT_PER_WORKER} problems per worker are queued or running
+     * at any time, so only that many operands and results are held at once no
+     * matter how big they get.
+     *
+     * The calculator must be safe to use from several threads.
+     *
+     * @param lines   the problems, each "a op b"
+     * @param workers the number of threads; 1 checks them in order on this
+     *                thread
+     */
+    public void testFromLines(Iterable<String> lines, int workers) {
+        if (workers <= 1) {
+            testFromLines(lines);
+            return;
+        }
+        final ExecutorService pool = Executors.newFixedThreadPool(workers);
+        final Deque<Future<Problem>> inFlight = new ArrayDeque<>();
+        try {
+            for (String line : lines) {
+                Scanner lineScan = new Scanner(line);
+                final String a = lineScan.next();
+                final String o = lineScan.next();
+                final String b = lineScan.next();
+                if (inFlight.size() >= workers * IN_FLIGHT_PER_WORKER) {
+                    report(await(inFlight.poll()));
+                }
+                inFlight.add(pool.submit(() -> check(studentCalc, a, o, b)));
+            }
+            while (!inFlight.isEmpty()) {
+                report(await(inFlight.poll()));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        finishUp();
+    }
+
+    /**
+     * Waits for a problem to be checked, passing on anything it threw.
+     *
+     * @param f the pending problem
+     * @return the outcome
+     */
+    private static Problem await(Future<Problem> f) {
+        try {
+            return f.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
     }
 
     /**
@@ -91,39 +192,146 @@ public class Cosc310LLTester {
      */
     protected void validateAddition(Cosc310BigIntCalculator studC, String a,
             String b) {
-        BigInteger binta = new BigInteger(a);
-        BigInteger bintb = new BigInteger(b);
-        String myResult = binta.add(bintb).toString();
-        String otherResult = studC.add(a, b);
-
-        printProblem("%s + %s = %s ", a, b, otherResult);
-
-        showOk(myResult.compareTo(otherResult) == 0);
+        report(checkAddition(studC, a, b));
     }
 
     // compare subtraction
     protected void validateSubtraction(Cosc310BigIntCalculator calc, String a,
             String b) {
-        BigInteger binta = new BigInteger(a);
-        BigInteger bintb = new BigInteger(b);
-        String myResult = binta.subtract(bintb).toString();
-        String otherResult = calc.subtract(a, b);
-
-        printProblem("%s - %s = %s ", a, b, otherResult);
-
-        showOk(myResult.compareTo(otherResult) == 0);
+        report(checkSubtraction(calc, a, b));
     }
 
     // compare multiplication
     protected void validateMultiplication(Cosc310BigIntCalculator calc, String a,
             String b) {
-        BigInteger binta = new BigInteger(a);
-        BigInteger bintb = new BigInteger(b);
-        String myResult = binta.multiply(bintb).toString();
+        report(checkMultiplication(calc, a, b));
+    }
+
+    // compare division
+    protected void validateDivision(Cosc310BigIntCalculator calc, String a,
+            String b) {
+        report(checkDivision(calc, a, b));
+    }
+
+    // compare remainder
+    protected void validateRemainder(Cosc310BigIntCalculator calc, String a,
+            String b) {
+        report(checkRemainder(calc, a, b));
+    }
+
+    /**
+     * Works out a problem and compares against Java's answer without printing
+     * anything, so it is safe to call from any thread.
+     *
+     * @param calc the calculator to check
+     * @param a    first operand
+     * @param o    the operator
+     * @param b    second operand
+     * @return the outcome, to be handed to {@link #report(Problem)}
+     */
+    protected Problem check(Cosc310BigIntCalculator calc, String a, String o,
+            String b) {
+        switch (o.charAt(0)) {
+            case ADD:
+                return checkAddition(calc, a, b);
+            case SUB:
+                return checkSubtraction(calc, a, b);
+            case MUL:
+                return checkMultiplication(calc, a, b);
+            case DIV:
+                return checkDivision(calc, a, b);
+            case REM:
+                return checkRemainder(calc, a, b);
+            default:
+                return new Problem(null, a + " " + o, b, null, false);
+        }
+    }
+
+    protected Problem checkAddition(Cosc310BigIntCalculator calc, String a,
+            String b) {
+        String myResult = new BigInteger(a).add(new BigInteger(b)).toString();
+        String otherResult = calc.add(a, b);
+        return new Problem("%s + %s = %s ", a, b, otherResult,
+                myResult.compareTo(otherResult) == 0);
+    }
+
+    protected Problem checkSubtraction(Cosc310BigIntCalculator calc, String a,
+            String b) {
+        String myResult = new BigInteger(a).subtract(new BigInteger(b))
+                .toString();
+        String otherResult = calc.subtract(a, b);
+        return new Problem("%s - %s = %s ", a, b, otherResult,
+                myResult.compareTo(otherResult) == 0);
+    }
+
+    protected Problem checkMultiplication(Cosc310BigIntCalculator calc,
+            String a, String b) {
+        String myResult = new BigInteger(a).multiply(new BigInteger(b))
+                .toString();
         String otherResult = calc.multiply(a, b);
+        return new Problem("%s * %s = %s ", a, b, otherResult,
+                myResult.compareTo(otherResult) == 0);
+    }
+
+    protected Problem checkDivision(Cosc310BigIntCalculator calc, String a,
+            String b) {
+        String myResult = new BigInteger(a).divide(new BigInteger(b))
+                .toString();
+        String otherResult = calc.divide(a, b);
+        return new Problem("%s / %s = %s ", a, b, otherResult,
+                myResult.compareTo(otherResult) == 0);
+    }
 
-        printProblem("%s * %s = %s ", a, b, otherResult);
-        showOk(myResult.compareTo(otherResult) == 0);
+    protected Problem checkRemainder(Cosc310BigIntCalculator calc, String a,
+            String b) {
+        String myResult = new BigInteger(a).remainder(new BigInteger(b))
+                .toString();
+        String otherResult = calc.remainder(a, b);
+        return new Problem("%s %% %s = %s ", a, b, otherResult,
+                myResult.compareTo(otherResult) == 0);
+    }
+
+    /**
+     * Prints a problem and whether it was right, counting it.
+     *
+     * @param p the outcome of {@link #check}
+     */
+    protected void report(Problem p) {
+        if (p.format == null) {
+            System.out.printf("Don't understand %s %s%n", p.a, p.b);
+            return;
+        }
+        printProblem(p.format, p.a, p.b, p.result);
+        showOk(p.ok);
+    }
+
+    /**
+     * The outcome of checking one problem
+     */
+    protected static class Problem {
+
+        final String format;
+        final String a;
+        final String b;
+        final String result;
+        final boolean ok;
+
+        /**
+         * @param format how to print the problem, or null if the operator
+         *               wasn't understood
+         * @param a      first operand
+         * @param b      second operand
+         * @param result the calculator's answer
+         * @param ok     whether the answer was right
+         */
+        Problem(String format, String a, String b, String result,
+                boolean ok) {
+            this.format = format;
+            this.a = a;
+            this.b = b;
+            this.result = result;
+            this.ok = ok;
+        }
     }
 
     private void showOk(boolean ok) {
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.cosc310;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Evaluates a stream of problems, one "a op b" per line, and writes one
+ * result per line as it goes. Only the current line is held in memory, so
+ * problem files of any size can be worked through.
+ *
+ * Each line of output is either the result of the matching problem or, if it
+ * couldn't be evaluated, a line starting with "error: ". Blank lines are
+ * skipped.
+ *
+ * @author Kevin Raoofi
+ */
+public class Cosc310StreamEvaluator {
+
+    private static final char ADD = '+';
+    private static final char SUB = '-';
+    private static final char MUL = '*';
+    private static final char DIV = '/';
+    private static final char REM = '%';
+
+    /**
+     * The calculator doing the arithmetic
+     */
+    private final Cosc310BigIntCalculator calc;
+
+    /**
+     * Creates an evaluator
+     *
+     * @param calc the calculator doing the arithmetic
+     */
+    public Cosc310StreamEvaluator(Cosc310BigIntCalculator calc) {
+        this.calc = calc;
+    }
+
+    /**
+     * Evaluates every problem in a file and writes the results to another.
+     *
+     * @param input  the file of problems
+     * @param output the file to write results to; replaced if it exists
+     * @return the number of problems evaluated
+     * @throws IOException if either file can't be read or written
+     */
+    public long evaluate(Path input, Path output) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(input,
+                StandardCharsets.US_ASCII);
+                Writer out = Files.newBufferedWriter(output,
+                        StandardCharsets.US_ASCII)) {
+            return evaluate(in, out);
+        }
+    }
+
+    /**
+     * Evaluates every problem until the end of the input. The output is
+     * flushed at the end but not closed.
+     *
+     * @param in  the problems, one per line
+     * @param out where to write the results, one per line
+     * @return the number of problems evaluated
+     * @throws IOException if reading or writing fails
+     */
+    public long evaluate(BufferedReader in, Writer out) throws IOException {
+        long count = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            out.write(evaluate(line));
+            out.write('\n');
+            count++;
+        }
+        out.flush();
+        return count;
+    }
+
+    /**
+     * Evaluates one problem.
+     *
+     * @param line the problem in the form "a op b"
+     * @return the result, or a message starting with "error: " if the line
+     *         is malformed or the operation fails
+     */
+    public String evaluate(String line) {
+        final String[] parts = line.trim().split("\\s+");
+        if (parts.length != 3 || parts[1].length() != 1) {
+            return "error: don't understand " + line;
+        }
+        final String a = parts[0];
+        final String b = parts[2];
+        try {
+            switch (parts[1].charAt(0)) {
+                case ADD:
+                    return calc.add(a, b);
+                case SUB:
+                    return calc.subtract(a, b);
+                case MUL:
+                    return calc.multiply(a, b);
+                case DIV:
+                    return calc.divide(a, b);
+                case REM:
+                    return calc.remainder(a, b);
+                default:
+                    return "error: don't understand " + line;
+            }
+        } catch (NumberFormatException | ArithmeticException ex) {
+            return "error: " + ex.getMessage();
+        }
+    }
+}
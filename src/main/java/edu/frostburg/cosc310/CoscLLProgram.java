@@ -6,9 +6,16 @@ package edu.frostburg.cosc310;
 import edu.frostburg.Cosc310BigInt.skraoofi0.BigIntCalculator;
 import edu.frostburg.Cosc310BigInt.skraoofi0.LinkedList;
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.List;
 
 /**
@@ -21,6 +28,14 @@ public class CoscLLProgram {
     /**
      * Run this class with 2 args. args[0] is the filename to read
      *
+     * A number after the filename checks that many problems at once on
+     * separate threads; the report comes out in the same order either way.
+     *
+     * Alternatively, run it with {@code --evaluate input output} to work
+     * through a problem file of any size with
+     * {@link Cosc310StreamEvaluator}, writing one result per line. Either path
+     * may be "-" for standard input or output.
+     *
      * @param args the command line arguments, preferably the file name
      * @throws java.io.IOException explodes if we had problems reading the
      * resource file.
@@ -30,7 +45,14 @@ public class CoscLLProgram {
         final Cosc310BigIntCalculator defaultCalculator = new BigIntCalculator();
         final Cosc310LLTester tester = new Cosc310LLTester(defaultCalculator);
 
-        if (args.length == 0) {
+        if (args.length > 0 && args[0].equals("--evaluate")) {
+            if (args.length != 3) {
+                usage();
+                return;
+            }
+            evaluate(new Cosc310StreamEvaluator(defaultCalculator), args[1],
+                    args[2]);
+        } else if (args.length == 0) {
             final URL rsrc = CoscLLProgram.class.getResource("/big_math.txt");
             if (rsrc != null) {
                 List<String> lines = readLinesFromResource(rsrc);
@@ -46,8 +68,74 @@ public class CoscLLProgram {
             String fileName = args[0];
             System.out.printf("Running with file %s%n", fileName);
             tester.testFromFile(fileName);
+        } else if (args.length == 2) { // a file name and a number of workers
+            String fileName = args[0];
+            int workers;
+            try {
+                workers = Integer.parseInt(args[1]);
+            } catch (NumberFormatException ex) {
+                workers = 0;
+            }
+            if (workers < 1) {
+                System.err.printf("Not a number of threads: %s%n", args[1]);
+                usage();
+                return;
+            }
+            System.out.printf("Running with file %s on %d threads%n", fileName,
+                    workers);
+            tester.testFromFile(fileName, workers);
+        } else {
+            usage();
         }
+    }
 
+    /**
+     * Prints how to run this program to standard error.
+     */
+    static void usage() {
+        System.err.println("Usage: CoscLLProgram [file [threads]]");
+        System.err.println("       CoscLLProgram --evaluate input output");
+        System.err.println("Either path given to --evaluate may be - for "
+                + "standard input or output.");
+    }
+
+    /**
+     * Streams problems from one file to results in another, treating "-" as
+     * standard input or output. The count goes to standard error so it never
+     * mixes with results. The standard streams are flushed but left open.
+     *
+     * @param evaluator the evaluator to use
+     * @param input     the file of problems or "-"
+     * @param output    the file for results or "-"
+     * @throws IOException if either file can't be read or written
+     */
+    static void evaluate(Cosc310StreamEvaluator evaluator, String input,
+            String output) throws IOException {
+        final Charset ascii = StandardCharsets.US_ASCII;
+        final boolean stdin = input.equals("-");
+        final boolean stdout = output.equals("-");
+        final BufferedReader in = stdin
+                ? new BufferedReader(new InputStreamReader(System.in, ascii))
+                : Files.newBufferedReader(Paths.get(input), ascii);
+        try {
+            final Writer out = stdout
+                    ? new BufferedWriter(new OutputStreamWriter(System.out,
+                                    ascii))
+                    : Files.newBufferedWriter(Paths.get(output), ascii);
+            try {
+                final long count = evaluator.evaluate(in, out);
+                System.err.printf("Evaluated %d problems%n", count);
+            } finally {
+                out.flush();
+                if (!stdout) {
+                    out.close();
+                }
+            }
+        } finally {
+            if (!stdin) {
+                in.close();
+            }
+        }
     }
 
     /**
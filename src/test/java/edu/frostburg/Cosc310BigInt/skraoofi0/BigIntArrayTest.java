@@ -0,0 +1,164 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.Cosc310BigInt.skraoofi0;
+
+import edu.frostburg.Cosc310BigInt.skraoofi0.BigIntArray;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Kevin Raoofi
+ */
+public class BigIntArrayTest extends BigIntTestSuperClass {
+
+    public BigIntArrayTest() throws NoSuchMethodException {
+        super(BigIntArray.class);
+    }
+
+    /**
+     * Checks the limb arithmetic against {@link BigInteger} with operands that
+     * span many limbs and carry or borrow across limb boundaries.
+     */
+    @Test
+    public void testAgainstBigInteger() {
+        Random r = new Random(310);
+        for (int i = 0; i < 200; i++) {
+            BigInteger a = new BigInteger(r.nextInt(400) + 1, r);
+            BigInteger b = new BigInteger(r.nextInt(400) + 1, r);
+            if (r.nextBoolean()) {
+                a = a.negate();
+            }
+            if (r.nextBoolean()) {
+                b = b.negate();
+            }
+            BigIntArray x = new BigIntArray(a.toString());
+            BigIntArray y = new BigIntArray(b.toString());
+            assertEquals(a.add(b).toString(), x.add(y).toString());
+            assertEquals(a.subtract(b).toString(), x.subtract(y).toString());
+            assertEquals(a.multiply(b).toString(), x.multiply(y).toString());
+            assertEquals(a.compareTo(b), Integer.signum(x.compareTo(y)));
+        }
+    }
+
+    @Test
+    public void testLimbBoundaries() {
+        BigIntArray max = new BigIntArray("999999999999999999");
+        assertEquals("1000000000000000000", max.add(BigIntArray.ONE)
+                .toString());
+        assertEquals("999999999999999998", max.subtract(BigIntArray.ONE)
+                .toString());
+        assertEquals("1000000001", new BigIntArray("1000000000").add(
+                BigIntArray.ONE).toString());
+        assertEquals("-2147483648", new BigIntArray(Integer.MIN_VALUE)
+                .toString());
+        assertEquals("0", new BigIntArray("-000").toString());
+        assertEquals(BigIntArray.ZERO, new BigIntArray("-000"));
+        assertEquals("7", new BigIntArray("+0007").toString());
+    }
+
+    /**
+     * Round trips through BigInteger at sizes on both sides of where the
+     * conversion starts dividing and conquering.
+     */
+    @Test
+    public void testBigIntegerConversion() {
+        Random r = new Random(310);
+        int[] bits = {0, 1, 63, 64, 900, 1000, 5000, 33333, 100000, 700000};
+        for (int b : bits) {
+            BigInteger a = new BigInteger(b, r);
+            if (r.nextBoolean()) {
+                a = a.negate();
+            }
+            BigIntArray x = BigIntArray.valueOf(a);
+            assertEquals(b + " bits", a.toString(), x.toString());
+            assertEquals(b + " bits", a, x.toBigInteger());
+            assertEquals(b + " bits", a, new BigIntArray(a.toString())
+                    .toBigInteger());
+        }
+        // exact powers of the base sit right on the split points
+        BigInteger pow = BigInteger.TEN.pow(9 * 64);
+        assertEquals(pow, BigIntArray.valueOf(pow).toBigInteger());
+        assertEquals(pow.subtract(BigInteger.ONE), BigIntArray.valueOf(pow
+                .subtract(BigInteger.ONE)).toBigInteger());
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testInvalidString() {
+        new BigIntArray("12a4");
+    }
+
+    /**
+     * Reads values out of the middle of a file with tiny windows so digits,
+     * limbs, and windows all break in different places.
+     */
+    @Test
+    public void testReadMapped() throws IOException {
+        int window = BigIntArray.mapWindow;
+        Path file = Files.createTempFile("bigint", ".txt");
+        try {
+            Random r = new Random(310);
+            String[] values = {"0", "-0", "+000123", "-1", "999999999",
+                "1000000000", new BigInteger(3000, r).toString(),
+                "-" + new BigInteger(100, r)};
+            StringBuilder sb = new StringBuilder("junk\n");
+            long[] starts = new long[values.length];
+            long[] lengths = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                starts[i] = sb.length();
+                sb.append(' ').append(values[i]).append('\n');
+                lengths[i] = sb.length() - starts[i];
+            }
+            Files.write(file, sb.toString().getBytes(StandardCharsets.US_ASCII));
+            for (int w : new int[]{7, 4096, window}) {
+                BigIntArray.mapWindow = w;
+                try (FileChannel channel = FileChannel.open(file,
+                        StandardOpenOption.READ)) {
+                    for (int i = 0; i < values.length; i++) {
+                        assertEquals(values[i] + " window " + w,
+                                new BigIntArray(values[i]), BigIntArray.read(
+                                        channel, starts[i], lengths[i]));
+                    }
+                }
+            }
+            Files.write(file, (values[6] + "\n").getBytes(
+                    StandardCharsets.US_ASCII));
+            assertEquals(values[6], BigIntArray.read(file).toString());
+        } finally {
+            BigIntArray.mapWindow = window;
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testReadMappedInvalid() throws IOException {
+        Path file = Files.createTempFile("bigint", ".txt");
+        try {
+            Files.write(file, "12 34".getBytes(StandardCharsets.US_ASCII));
+            BigIntArray.read(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
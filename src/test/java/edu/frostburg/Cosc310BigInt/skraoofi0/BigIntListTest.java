@@ -16,6 +16,14 @@
 package edu.frostburg.Cosc310BigInt.skraoofi0;
 
 import edu.frostburg.Cosc310BigInt.skraoofi0.BigIntList;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import static org.junit.Assert.*;
+import org.junit.Test;
 
 /**
  *
@@ -26,4 +34,297 @@ public class BigIntListTest extends BigIntTestSuperClass {
     public BigIntListTest() throws NoSuchMethodException {
         super(BigIntList.class);
     }
+
+    /**
+     * Checks addition and subtraction against {@link BigInteger} for every
+     * sign combination, including operands of equal length which have to be
+     * compared digit by digit.
+     */
+    @Test
+    public void testAddSubtractAgainstBigInteger() {
+        Random r = new Random(310);
+        for (int i = 0; i < 300; i++) {
+            BigInteger a = new BigInteger(r.nextInt(300) + 1, r);
+            BigInteger b = i % 3 == 0 ? a.add(BigInteger.valueOf(r.nextInt(
+                    20) - 10)) : new BigInteger(r.nextInt(300) + 1, r);
+            if (r.nextBoolean()) {
+                a = a.negate();
+            }
+            if (r.nextBoolean()) {
+                b = b.negate();
+            }
+            BigIntList x = new BigIntList(a.toString());
+            BigIntList y = new BigIntList(b.toString());
+            assertEquals(new BigIntList(a.add(b).toString()), x.add(y));
+            assertEquals(new BigIntList(a.subtract(b).toString()), x
+                    .subtract(y));
+            // operands of another implementation are read through toString
+            assertEquals(new BigIntList(a.subtract(b).toString()), x
+                    .subtract(new BigIntArray(b.toString())));
+        }
+    }
+
+    @Test
+    public void testAddSubtractUnnormalized() {
+        BigIntList a = new BigIntList("+000123");
+        BigIntList b = new BigIntList("-0000123");
+        assertEquals(BigIntList.ZERO, a.add(b));
+        assertEquals(BigIntList.ZERO, b.subtract(b));
+        assertEquals(new BigIntList(246), a.subtract(b));
+        assertEquals(new BigIntList(-246), b.add(b));
+        assertEquals(new BigIntList(-1), new BigIntList("-0").subtract(
+                BigIntList.ONE));
+        assertEquals(new BigIntList(1000), new BigIntList("999").add(
+                BigIntList.ONE));
+        assertEquals(new BigIntList(999), new BigIntList("1000").subtract(
+                BigIntList.ONE));
+    }
+
+    /**
+     * Checks the schoolbook multiplication against {@link BigInteger} for
+     * operands below the Karatsuba threshold, including zero and long runs of
+     * nines that carry through many columns.
+     */
+    @Test
+    public void testMultiplyAgainstBigInteger() {
+        Random r = new Random(310);
+        for (int i = 0; i < 200; i++) {
+            BigInteger a = new BigInteger(r.nextInt(900), r);
+            BigInteger b = new BigInteger(r.nextInt(900), r);
+            if (r.nextBoolean()) {
+                a = a.negate();
+            }
+            if (r.nextBoolean()) {
+                b = b.negate();
+            }
+            assertEquals(new BigIntList(a.multiply(b).toString()),
+                    new BigIntList(a.toString()).multiply(new BigIntList(b
+                            .toString())));
+        }
+        String nines = "99999999999999999999999999999999999999999999999999";
+        assertEquals(new BigIntList(new BigInteger(nines).pow(2).toString()),
+                new BigIntList(nines).multiply(new BigIntList(nines)));
+        assertEquals(new BigIntList(-369), new BigIntList("+0041").multiply(
+                new BigIntList("-009")));
+    }
+
+    /**
+     * Every result should be computed the same way whichever List
+     * implementation backs the operands.
+     */
+    @Test
+    public void testOtherListImplementations() {
+        String a = "-1234567890123456789012345678901234567890";
+        String b = "987654321098765432109876543210";
+        BigInteger x = new BigInteger(a);
+        BigInteger y = new BigInteger(b);
+        List<ListFactory> factories = new ArrayList<>();
+        List<Supplier<List<?>>> suppliers = Arrays.asList(
+                java.util.ArrayList::new, java.util.LinkedList::new,
+                ByteList::new);
+        for (Supplier<List<?>> supplier : suppliers) {
+            factories.add(new ListFactory(supplier));
+        }
+        factories.add(new ListFactory(() -> LinkedList.unrolled(4)));
+        factories.add(new ListFactory(() -> LinkedList.recycling(1)));
+        factories.add(new ListFactory(ArrayList::new, ArrayList::new));
+        for (ListFactory factory : factories) {
+            BigIntList p = new BigIntList(a, factory);
+            BigIntList q = new BigIntList(b, factory);
+            assertEquals(x.add(y).toString(), p.add(q).toString());
+            assertEquals(x.subtract(y).toString(), p.subtract(q).toString());
+            assertEquals(x.multiply(y).toString(), p.multiply(q).toString());
+            assertEquals(x.divide(y).toString(), p.divide(q).toString());
+            assertEquals(x.multiply(BigInteger.valueOf(-7)).toString(), p
+                    .multiply(-7).toString());
+            assertEquals("0", p.subtract(p).toString());
+            assertEquals(a, p.negate().negate().toString());
+        }
+    }
+
+    /**
+     * Intermediate results are disposed of, so arithmetic on recycling lists
+     * reuses their nodes instead of allocating new ones.
+     */
+    @Test
+    public void testRecyclingFactoryReusesNodes() {
+        ListFactory factory = new ListFactory(() -> LinkedList.recycling(1));
+        LinkedList.resetPool();
+        try {
+            BigInteger x = new BigInteger("-123456789012345678901234567890");
+            BigInteger y = new BigInteger("9876543210987");
+            BigIntList p = new BigIntList(x.toString(), factory);
+            BigIntList q = new BigIntList(y.toString(), factory);
+            for (int i = 0; i < 10; i++) {
+                assertEquals(x.divide(y).toString(), p.divide(q).toString());
+                assertEquals(x.remainder(y).toString(), p.remainder(q)
+                        .toString());
+                assertEquals(x.multiply(BigInteger.valueOf(7)).add(BigInteger
+                        .valueOf(5)).toString(), p.multiplyAdd(7, 5)
+                        .toString());
+            }
+            assertTrue(LinkedList.poolHits() > 0);
+        } finally {
+            LinkedList.resetPool();
+        }
+    }
+
+    /**
+     * Results should ask for lists of the size they will fill.
+     */
+    @Test
+    public void testFactorySizeHints() {
+        final List<Integer> hints = new ArrayList<>();
+        ListFactory factory = new ListFactory(ByteList::new, n -> {
+            hints.add(n);
+            return new ByteList(n);
+        });
+        BigIntList p = new BigIntList("-98765432109876543210", factory);
+        assertLastHint(p, hints);
+        BigIntList q = new BigIntList("12345678901234567890", factory);
+        assertLastHint(q, hints);
+        assertLastHint(p.add(q), hints);
+        assertLastHint(p.subtract(q), hints);
+        assertLastHint(q.subtract(p), hints);
+        assertLastHint(p.multiply(q), hints);
+        assertLastHint(q.multiply(99), hints);
+    }
+
+    private static void assertLastHint(BigIntList result, List<Integer> hints) {
+        assertEquals(result.toString().length(), (int) hints.get(hints.size()
+                - 1));
+        hints.clear();
+    }
+
+    @Test
+    public void testListFactoryCapacityConstructor() {
+        // ArrayList and ByteList take a capacity, java.util.LinkedList doesn't
+        List<Class<?>> classes = Arrays.asList(java.util.ArrayList.class,
+                java.util.LinkedList.class, ByteList.class);
+        for (Class<?> c : classes) {
+            List<Byte> list = new ListFactory(c).create(100);
+            assertTrue(list.isEmpty());
+            assertEquals(c, list.getClass());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testListFactoryRejectsOtherClasses() throws Exception {
+        new ListFactory("java.lang.String");
+    }
+
+    @Test
+    public void testCacheLimitIsClamped() {
+        assertEquals(1, BigIntList.cacheLimit(0));
+        assertEquals(1024, BigIntList.cacheLimit(1024));
+        assertEquals(BigIntList.MAX_CACHE_LIMIT, BigIntList.cacheLimit(
+                Integer.MAX_VALUE));
+        assertTrue(BigIntList.CACHE_LIMIT <= BigIntList.MAX_CACHE_LIMIT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCacheLimit() {
+        BigIntList.cacheLimit(-1);
+    }
+
+    @Test
+    public void testValueOf() {
+        long[] values = {0, 1, -1, 9, -10, 1024, -1024, 1025, -1025, 123456789,
+            Long.MAX_VALUE, Long.MIN_VALUE};
+        for (long v : values) {
+            assertEquals(Long.toString(v), BigIntList.valueOf(v).toString());
+            if ((int) v == v) {
+                assertEquals(Long.toString(v), new BigIntList((int) v)
+                        .toString());
+            }
+        }
+        assertSame(BigIntList.ZERO, BigIntList.valueOf(0));
+        assertSame(BigIntList.ONE, BigIntList.valueOf(1));
+        assertSame(BigIntList.valueOf(-500), BigIntList.valueOf(-500));
+        assertSame(BigIntList.valueOf(BigIntList.CACHE_LIMIT), BigIntList
+                .valueOf(BigIntList.CACHE_LIMIT));
+        assertNotSame(BigIntList.valueOf(BigIntList.CACHE_LIMIT + 1),
+                BigIntList.valueOf(BigIntList.CACHE_LIMIT + 1));
+    }
+
+    /**
+     * Small results share the cached instances.
+     */
+    @Test
+    public void testSmallResultsAreCached() {
+        BigIntList a = new BigIntList("123456789123");
+        BigIntList b = new BigIntList("123456789000");
+        assertSame(BigIntList.valueOf(123), a.subtract(b));
+        assertSame(BigIntList.valueOf(-123), b.subtract(a));
+        assertSame(BigIntList.valueOf(-1000), BigIntList.valueOf(10)
+                .multiply(-100));
+        assertSame(BigIntList.valueOf(7), BigIntList.valueOf(2).multiplyAdd(3,
+                1));
+        assertEquals("5000", BigIntList.valueOf(50).multiply(100).toString());
+    }
+
+    /**
+     * Compares values with every mix of signs and lengths across both
+     * implementations, including numbers which only differ deep inside a
+     * limb.
+     */
+    @Test
+    public void testCompareToAcrossImplementations() {
+        Random r = new Random(310);
+        List<String> values = new ArrayList<>();
+        values.add("0");
+        values.add("-0");
+        values.add("0007");
+        for (int digits : new int[]{1, 8, 9, 10, 18, 19, 40}) {
+            for (int i = 0; i < 3; i++) {
+                String v = new BigInteger(digits * 4, r).toString();
+                values.add(v);
+                values.add("-" + v);
+                // one more at the lowest digit
+                values.add(new BigInteger(v).add(BigInteger.ONE).toString());
+            }
+        }
+        for (String a : values) {
+            for (String b : values) {
+                int expected = new BigInteger(a).compareTo(new BigInteger(b));
+                BigIntList la = new BigIntList(a);
+                BigIntArray ab = new BigIntArray(b);
+                String msg = a + " vs " + b;
+                assertEquals(msg, expected, Integer.signum(la.compareTo(
+                        new BigIntList(b))));
+                assertEquals(msg, expected, la.compareTo(ab));
+                assertEquals(msg, -expected, ab.compareTo(la));
+            }
+        }
+    }
+
+    /**
+     * Dividing by a BigIntArray reads its limbs directly and has to agree
+     * with dividing by the same value as a BigIntList.
+     */
+    @Test
+    public void testDivideAcrossImplementations() {
+        Random r = new Random(310);
+        for (int i = 0; i < 100; i++) {
+            BigInteger a = new BigInteger(r.nextInt(600) + 1, r);
+            BigInteger b = new BigInteger(r.nextInt(300) + 1, r).add(
+                    BigInteger.ONE);
+            if (r.nextBoolean()) {
+                a = a.negate();
+            }
+            if (r.nextBoolean()) {
+                b = b.negate();
+            }
+            BigInteger[] expected = a.divideAndRemainder(b);
+            BigIntList x = new BigIntList(a.toString());
+            for (BigInt y : new BigInt[]{new BigIntList(b.toString()),
+                new BigIntArray(b.toString())}) {
+                BigIntList[] qr = x.divideAndRemainder(y);
+                assertEquals(a + " / " + b, expected[0].toString(), qr[0]
+                        .toString());
+                assertEquals(a + " % " + b, expected[1].toString(), qr[1]
+                        .toString());
+            }
+        }
+    }
 }
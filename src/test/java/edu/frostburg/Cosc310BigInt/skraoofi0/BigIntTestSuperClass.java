@@ -250,6 +250,87 @@ public abstract class BigIntTestSuperClass {
 
     }
 
+    /**
+     * Test of multiply with an int against BigInteger, including the extremes
+     * of int and a long operand.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testMultiplyInt() throws Exception {
+        String big = "-98765432109876543210987654321098765432109876543210";
+        int[] ms = {0, 1, -1, 7, 10, 1000000, Integer.MAX_VALUE,
+            Integer.MIN_VALUE};
+        for (String s : new String[]{"0", "9", "-1", big, big.substring(1)}) {
+            for (int m : ms) {
+                BigInt result = strCon.newInstance(s).multiply(m);
+                assertEquals(s + " * " + m, new BigInteger(s).multiply(
+                        BigInteger.valueOf(m)).toString(), result.toString());
+            }
+        }
+    }
+
+    /**
+     * Test of multiplyAdd with every combination of signs, including sums
+     * that cross zero.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testMultiplyAdd() throws Exception {
+        String[] values = {"0", "3", "-3", "999999999999999999999",
+            "-100000000000000000000"};
+        int[] ints = {0, 1, -1, 5, -5, 17, Integer.MAX_VALUE,
+            Integer.MIN_VALUE};
+        for (String s : values) {
+            for (int m : ints) {
+                for (int a : ints) {
+                    BigInt result = strCon.newInstance(s).multiplyAdd(m, a);
+                    BigInteger expected = new BigInteger(s).multiply(BigInteger
+                            .valueOf(m)).add(BigInteger.valueOf(a));
+                    assertEquals(s + " * " + m + " + " + a, expected
+                            .toString(), result.toString());
+                    assertEquals(strCon.newInstance(expected.toString()),
+                            result);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSignumAndDigitCount() throws Exception {
+        String[] values = {"0", "-0", "007", "-7", "123456789", "-1234567890",
+            "999999999999999999999", "1000000000000000000"};
+        for (String s : values) {
+            BigInteger expected = new BigInteger(s);
+            BigInt[] instances = {strCon.newInstance(s),
+                strCon.newInstance(s).negate().negate(),
+                strCon.newInstance(s).multiply(1)};
+            for (BigInt instance : instances) {
+                assertEquals(s, expected.signum(), instance.signum());
+                assertEquals(s, expected.abs().toString().length(), instance
+                        .digitCount());
+                assertEquals(s, -expected.signum(), instance.negate()
+                        .signum());
+            }
+        }
+    }
+
+    @Test
+    public void testEqualsAndHashCode() throws Exception {
+        BigInt a = strCon.newInstance("-123456789012345678901234567890");
+        BigInt b = strCon.newInstance("-123456789012345678901234567890");
+        BigInt c = strCon.newInstance("-123456789012345678901234567891");
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+        assertFalse(a.equals(c));
+        c.hashCode();
+        assertFalse(a.equals(c));
+        assertFalse(a.equals(a.negate()));
+        assertEquals(a, a.negate().negate());
+    }
+
     @Test
     public void testSteve() throws Exception {
 
@@ -285,6 +366,45 @@ public abstract class BigIntTestSuperClass {
 
     }
 
+    /**
+     * Test of divide, remainder, and divideAndRemainder with every combination
+     * of signs. The quotient truncates towards zero and the remainder takes
+     * the sign of the dividend, the same as BigInteger.
+     *
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testDivide() throws Exception {
+        int[][] cases = {{7, 2}, {-7, 2}, {7, -2}, {-7, -2}, {6, 3}, {2, 7},
+            {0, 5}, {-1000000000, 7}};
+        for (int[] c : cases) {
+            BigInt a = intCon.newInstance(c[0]);
+            BigInt b = intCon.newInstance(c[1]);
+            String problem = c[0] + " / " + c[1];
+            assertEquals(problem, Integer.toString(c[0] / c[1]),
+                    a.divide(b).toString());
+            assertEquals(problem, Integer.toString(c[0] % c[1]),
+                    a.remainder(b).toString());
+            BigInt[] qr = a.divideAndRemainder(b);
+            assertEquals(problem, a.divide(b), qr[0]);
+            assertEquals(problem, a.remainder(b), qr[1]);
+        }
+
+        BigInt big = strCon.newInstance(
+                "-65746546546546546548798765436544321321326874654654");
+        BigInt div = strCon.newInstance("98765432109876543210");
+        BigInteger bigB = new BigInteger(big.toString());
+        BigInteger divB = new BigInteger(div.toString());
+        assertEquals(bigB.divide(divB).toString(), big.divide(div).toString());
+        assertEquals(bigB.remainder(divB).toString(), big.remainder(div)
+                .toString());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testDivideByZero() throws Exception {
+        intCon.newInstance(5).divide(intCon.newInstance(0));
+    }
+
     @Test
     public void incrementable() throws Exception {
         BigInt bi;
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.Cosc310BigInt.skraoofi0;
+
+import com.google.common.collect.testing.ListTestSuiteBuilder;
+import com.google.common.collect.testing.SampleElements;
+import com.google.common.collect.testing.TestListGenerator;
+import com.google.common.collect.testing.features.CollectionFeature;
+import com.google.common.collect.testing.features.CollectionSize;
+import com.google.common.collect.testing.features.ListFeature;
+import java.util.List;
+import junit.framework.TestSuite;
+import static org.junit.Assert.*;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+/**
+ *
+ * @author Kevin Raoofi
+ */
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+    ByteListTest.GuavaTests.class,
+    ByteListTest.CustomTests.class})
+public class ByteListTest {
+
+    public static class CustomTests {
+
+        @Test
+        public void testBothEnds() {
+            ByteList list = new ByteList(0);
+            for (int i = 0; i < 100; i++) {
+                list.addByte((byte) i);
+                list.addFirstByte((byte) -i);
+            }
+            assertEquals(200, list.size());
+            for (int i = 0; i < 100; i++) {
+                assertEquals((byte) -(99 - i), list.getByte(i));
+                assertEquals((byte) i, list.getByte(100 + i));
+            }
+        }
+
+        @Test
+        public void testBulk() {
+            ByteList list = new ByteList();
+            byte[] src = {9, 8, 7, 6, 5};
+            list.addFirstByte((byte) 1);
+            list.addBytes(src, 1, 3);
+            assertArrayEquals(new byte[]{1, 8, 7, 6}, list.toByteArray());
+            byte[] dst = new byte[4];
+            list.getBytes(1, dst, 1, 3);
+            assertArrayEquals(new byte[]{0, 8, 7, 6}, dst);
+            assertEquals(8, list.setByte(1, (byte) 3));
+            assertEquals(Byte.valueOf((byte) 3), list.get(1));
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void testGetBytesOutOfBounds() {
+            new ByteList().getBytes(0, new byte[1], 0, 1);
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void testAddBytesOutOfBounds() {
+            new ByteList().addBytes(new byte[2], 1, 2);
+        }
+    }
+
+    public static class GuavaTests {
+
+        public static TestSuite suite() {
+            return ListTestSuiteBuilder.using(new TestListGenerator<Byte>() {
+
+                @Override
+                public SampleElements<Byte> samples() {
+                    return new SampleElements<>((byte) 0, (byte) 1,
+                            (byte) '-', (byte) 9, (byte) -128);
+                }
+
+                @Override
+                public List<Byte> create(Object... elements) {
+                    ByteList list = new ByteList();
+                    for (Object e : elements) {
+                        list.add((Byte) e);
+                    }
+                    return list;
+                }
+
+                @Override
+                public Byte[] createArray(int length) {
+                    return new Byte[length];
+                }
+
+                @Override
+                public Iterable<Byte> order(List<Byte> insertionOrder) {
+                    return insertionOrder;
+                }
+
+            })
+                    .named("ByteList Tests")
+                    .withFeatures(
+                            ListFeature.GENERAL_PURPOSE,
+                            CollectionFeature.FAILS_FAST_ON_CONCURRENT_MODIFICATION,
+                            CollectionSize.ANY
+                    )
+                    .createTestSuite();
+        }
+    }
+
+}
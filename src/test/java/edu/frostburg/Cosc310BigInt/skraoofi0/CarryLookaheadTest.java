@@ -0,0 +1,171 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.Cosc310BigInt.skraoofi0;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks parallel addition and subtraction against the serial kernels in
+ * {@link Limbs}.
+ *
+ * @author Kevin Raoofi
+ */
+public class CarryLookaheadTest {
+
+    private final Random r = new Random(310);
+
+    private int threshold;
+    private int parallelism;
+
+    @Before
+    public void saveThresholds() {
+        threshold = CarryLookahead.threshold;
+        parallelism = Multiplication.parallelism;
+    }
+
+    @After
+    public void restoreThresholds() {
+        CarryLookahead.threshold = threshold;
+        Multiplication.parallelism = parallelism;
+    }
+
+    /**
+     * Creates a random trimmed magnitude.
+     *
+     * @param len number of limbs
+     * @return the magnitude
+     */
+    private int[] randomLimbs(int len) {
+        int[] a = new int[len];
+        for (int i = 0; i < len; i++) {
+            a[i] = r.nextInt(Limbs.BASE);
+        }
+        a[len - 1] = 1 + r.nextInt(Limbs.BASE - 1);
+        return a;
+    }
+
+    /**
+     * Creates a magnitude with every limb the same.
+     *
+     * @param len  number of limbs
+     * @param limb the value of every limb but the top one
+     * @param top  the value of the top limb
+     * @return the magnitude
+     */
+    private static int[] filled(int len, int limb, int top) {
+        int[] a = new int[len];
+        Arrays.fill(a, limb);
+        a[len - 1] = top;
+        return a;
+    }
+
+    /**
+     * Adds and subtracts two magnitudes serially and in parallel and checks
+     * that the results are the same.
+     *
+     * @param a the bigger magnitude
+     * @param b the smaller magnitude
+     */
+    private void check(int[] a, int[] b) {
+        CarryLookahead.threshold = Integer.MAX_VALUE;
+        int[] sum = Limbs.add(a, b);
+        int[] difference = Limbs.subtract(a, b);
+        CarryLookahead.threshold = 1;
+        Multiplication.parallelism = 4;
+        String limbs = a.length + " and " + b.length + " limbs";
+        assertArrayEquals(limbs, sum, Limbs.add(a, b));
+        assertArrayEquals(limbs, sum, Limbs.add(b, a));
+        assertArrayEquals(limbs, difference, Limbs.subtract(a, b));
+    }
+
+    @Test
+    public void testRandom() {
+        check(randomLimbs(1), randomLimbs(1));
+        check(randomLimbs(100000), randomLimbs(100000));
+        check(randomLimbs(100000), randomLimbs(30000));
+        check(randomLimbs(100000), randomLimbs(1));
+    }
+
+    @Test
+    public void testCarryAcrossBlocks() {
+        // B^n - 1 + 1 carries from the bottom limb out of the top block
+        int[] nines = filled(200000, Limbs.BASE - 1, Limbs.BASE - 1);
+        CarryLookahead.threshold = 1;
+        Multiplication.parallelism = 4;
+        int[] sum = Limbs.add(nines, new int[]{1});
+        assertEquals(200001, sum.length);
+        assertEquals(1, sum[200000]);
+        for (int i = 0; i < 200000; i++) {
+            assertEquals(0, sum[i]);
+        }
+        check(nines, new int[]{1});
+        check(nines, filled(150000, Limbs.BASE - 1, Limbs.BASE - 1));
+    }
+
+    @Test
+    public void testBorrowAcrossBlocks() {
+        // B^n - 1 borrows from the top limb all the way down
+        int[] power = new int[200001];
+        power[200000] = 1;
+        CarryLookahead.threshold = 1;
+        Multiplication.parallelism = 4;
+        assertArrayEquals(filled(200000, Limbs.BASE - 1, Limbs.BASE - 1),
+                Limbs.subtract(power, new int[]{1}));
+        check(power, new int[]{1});
+        check(power, filled(100000, 0, 1));
+    }
+
+    @Test
+    public void testCancellation() {
+        int[] a = randomLimbs(100000);
+        int[] b = a.clone();
+        b[0] = b[0] == 0 ? 1 : b[0] - 1;
+        check(a, b);
+        CarryLookahead.threshold = 1;
+        Multiplication.parallelism = 4;
+        assertSame(Limbs.ZERO, Limbs.subtract(a, a.clone()));
+    }
+
+    /**
+     * BigIntList should hand long operands to the parallel kernels and get
+     * the same answers as its own carry loop.
+     */
+    @Test
+    public void testBigIntList() {
+        CarryLookahead.threshold = 2;
+        Multiplication.parallelism = 4;
+        String[] values = {"0", "1", "-1", "999999999999999999999",
+            "-1000000000000000000000", "123456789012345678901234567890",
+            "-98765432109876543210987654321"};
+        for (String a : values) {
+            for (String b : values) {
+                BigInteger x = new BigInteger(a);
+                BigInteger y = new BigInteger(b);
+                assertEquals(a + " + " + b, x.add(y).toString(),
+                        new BigIntList(a).add(new BigIntList(b)).toString());
+                assertEquals(a + " - " + b, x.subtract(y).toString(),
+                        new BigIntList(a).subtract(new BigIntList(b))
+                        .toString());
+            }
+        }
+    }
+}
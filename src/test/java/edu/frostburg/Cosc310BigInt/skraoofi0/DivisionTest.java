@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.Cosc310BigInt.skraoofi0;
+
+import java.math.BigInteger;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks both division algorithms against {@link BigInteger}.
+ *
+ * @author Kevin Raoofi
+ */
+public class DivisionTest {
+
+    private final Random r = new Random(310);
+
+    private int burnikelZieglerThreshold;
+
+    @Before
+    public void saveThresholds() {
+        burnikelZieglerThreshold = Division.burnikelZieglerThreshold;
+    }
+
+    @After
+    public void restoreThresholds() {
+        Division.burnikelZieglerThreshold = burnikelZieglerThreshold;
+    }
+
+    /**
+     * Creates a random decimal number with exactly the given number of digits.
+     *
+     * @param digits number of digits
+     * @return the number
+     */
+    private String randomDigits(int digits) {
+        StringBuilder sb = new StringBuilder(digits);
+        sb.append((char) ('1' + r.nextInt(9)));
+        for (int i = 1; i < digits; i++) {
+            sb.append((char) ('0' + r.nextInt(10)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Divides the given numbers with {@link Division} and checks the quotient
+     * and remainder against BigInteger.
+     *
+     * @param a the dividend
+     * @param b the divisor
+     */
+    private void check(String a, String b) {
+        int[][] qr = Division.divideAndRemainder(Limbs.parse(a, 0, a
+                .length()), Limbs.parse(b, 0, b.length()));
+        BigInteger[] expected = new BigInteger(a).divideAndRemainder(
+                new BigInteger(b));
+        String problem = a.length() + " / " + b.length() + " digits";
+        assertEquals(problem, expected[0].toString(), Limbs.toString(qr[0],
+                new StringBuilder()).toString());
+        assertEquals(problem, expected[1].toString(), Limbs.toString(qr[1],
+                new StringBuilder()).toString());
+    }
+
+    private void check(int aDigits, int bDigits) {
+        check(randomDigits(aDigits), randomDigits(bDigits));
+    }
+
+    @Test
+    public void testSchoolbook() {
+        Division.burnikelZieglerThreshold = Integer.MAX_VALUE;
+        check(1, 1);
+        check(20, 9);
+        check(20, 10);
+        check(200, 19);
+        check(200, 150);
+        check(2000, 1000);
+        for (int i = 0; i < 200; i++) {
+            check(1 + r.nextInt(300), 1 + r.nextInt(100));
+        }
+    }
+
+    /**
+     * Divisors whose top limbs are all nines or a lone one stress the
+     * quotient estimate and the add back step.
+     */
+    @Test
+    public void testSchoolbookEdgeDivisors() {
+        Division.burnikelZieglerThreshold = Integer.MAX_VALUE;
+        String nines = new String(new char[90]).replace('\0', '9');
+        check(nines + nines, nines);
+        check(nines + nines, "1" + nines);
+        check("1" + nines + nines, "1000000000000000000000000001");
+        check(nines + "0000000000", "99999999999999999999");
+        check("1000000000000000000000000000000000000", "999999999999999999");
+        check("4000000000000000000000000000000000000", "2000000000000000001");
+    }
+
+    @Test
+    public void testBurnikelZiegler() {
+        Division.burnikelZieglerThreshold = 4;
+        for (int i = 0; i < 200; i++) {
+            int b = 1 + r.nextInt(600);
+            check(b + r.nextInt(900), b);
+        }
+        String nines = new String(new char[900]).replace('\0', '9');
+        check(nines + nines, nines);
+        check(nines + nines + nines, "1" + nines);
+    }
+
+    @Test
+    public void testBurnikelZieglerDefaultThreshold() {
+        check(20000, 10000);
+        check(30000, 4000);
+        check(40000, 39000);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testDivideByZero() {
+        Division.divideAndRemainder(new int[]{1}, Limbs.ZERO);
+    }
+}
@@ -11,9 +11,19 @@ import com.google.common.collect.testing.TestStringListGenerator;
 import com.google.common.collect.testing.features.CollectionFeature;
 import com.google.common.collect.testing.features.CollectionSize;
 import com.google.common.collect.testing.features.ListFeature;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
 import junit.framework.TestSuite;
+import static org.junit.Assert.*;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -25,6 +35,8 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
     LinkedListTest.GuavaTests.class,
+    LinkedListTest.GuavaUnrolledTests.class,
+    LinkedListTest.GuavaRecyclingTests.class,
     LinkedListTest.CustomTests.class})
 public class LinkedListTest {
 
@@ -34,6 +46,406 @@ public class LinkedListTest {
         public void testFoo() {
 
         }
+
+        /**
+         * Applies the same random inserts, removals, and replacements through
+         * iterators to an ArrayList and to lists with various node capacities
+         * and checks they always agree.
+         */
+        @Test
+        public void testUnrolledAgainstArrayList() {
+            for (int capacity : new int[]{1, 2, 3, 4, 32}) {
+                Random r = new Random(310 + capacity);
+                List<Integer> expected = new ArrayList<>();
+                List<Integer> actual = LinkedList.unrolled(capacity);
+                for (int step = 0; step < 3000; step++) {
+                    int index = r.nextInt(expected.size() + 1);
+                    int op = r.nextInt(10);
+                    if (op < 5 || expected.isEmpty()) {
+                        expected.add(index, step);
+                        actual.add(index, step);
+                    } else if (op < 8) {
+                        index = Math.min(index, expected.size() - 1);
+                        assertEquals(expected.remove(index), actual.remove(
+                                index));
+                    } else {
+                        // walk back over a few elements removing some
+                        ListIterator<Integer> ei = expected.listIterator(index);
+                        ListIterator<Integer> ai = actual.listIterator(index);
+                        while (ei.hasPrevious() && r.nextInt(8) != 0) {
+                            assertEquals(ei.previous(), ai.previous());
+                            if (r.nextBoolean()) {
+                                ei.remove();
+                                ai.remove();
+                            } else {
+                                ei.set(-step);
+                                ai.set(-step);
+                            }
+                            assertEquals(ei.nextIndex(), ai.nextIndex());
+                        }
+                        ei.add(step);
+                        ai.add(step);
+                    }
+                    assertEquals(expected.size(), actual.size());
+                }
+                assertEquals("capacity " + capacity, expected, actual);
+                assertEquals(expected.get(expected.size() / 2), actual.get(
+                        expected.size() / 2));
+            }
+        }
+
+        /**
+         * Indexed scans in either direction should start from where the last
+         * access left off. Walking from an end every time would take minutes.
+         */
+        @Test(timeout = 10000)
+        public void testIndexedScans() {
+            for (int capacity : new int[]{1, 32}) {
+                List<Integer> list = LinkedList.unrolled(capacity);
+                int n = 200000;
+                for (int i = 0; i < n; i++) {
+                    list.add(i);
+                }
+                for (int i = 0; i < n; i++) {
+                    assertEquals(i, (int) list.get(i));
+                }
+                for (int i = n - 1; i >= 0; i--) {
+                    list.set(i, -i);
+                }
+                for (int i = n - 1; i >= 0; i -= 3) {
+                    assertEquals(-i, (int) list.get(i));
+                }
+            }
+        }
+
+        /**
+         * Random access mixed with structural changes, which have to move or
+         * drop the remembered position.
+         */
+        @Test
+        public void testIndexedAccessAfterChanges() {
+            for (int capacity : new int[]{1, 3, 32}) {
+                Random r = new Random(310 + capacity);
+                List<Integer> expected = new ArrayList<>();
+                List<Integer> actual = LinkedList.unrolled(capacity);
+                for (int i = 0; i < 500; i++) {
+                    expected.add(i);
+                    actual.add(i);
+                }
+                int last = 0;
+                for (int step = 0; step < 5000; step++) {
+                    int index = r.nextInt(expected.size());
+                    switch (r.nextInt(5)) {
+                        case 0:
+                            expected.add(index, step);
+                            actual.add(index, step);
+                            break;
+                        case 1:
+                            assertEquals(expected.remove(index), actual.remove(
+                                    index));
+                            expected.add(step);
+                            actual.add(step);
+                            break;
+                        case 2:
+                            assertEquals(expected.set(index, step), actual.set(
+                                    index, step));
+                            break;
+                        default:
+                            // near the last access
+                            index = Math.max(0, Math.min(expected.size() - 1,
+                                    last + r.nextInt(7) - 3));
+                            assertEquals(expected.get(index), actual.get(
+                                    index));
+                    }
+                    last = index;
+                }
+                assertEquals("capacity " + capacity, expected, actual);
+            }
+        }
+
+        @Test
+        public void testRecyclingPool() {
+            int limit = LinkedList.poolLimit;
+            try {
+                LinkedList.poolLimit = 10;
+                LinkedList.resetPool();
+                List<Integer> list = LinkedList.recycling(1);
+                for (int i = 0; i < 100; i++) {
+                    list.add(i);
+                }
+                assertEquals(0, LinkedList.poolHits());
+                assertEquals(100, LinkedList.poolMisses());
+
+                // only as many as the limit are kept
+                list.clear();
+                for (int i = 0; i < 100; i++) {
+                    list.add(i);
+                }
+                assertEquals(10, LinkedList.poolHits());
+                assertEquals(190, LinkedList.poolMisses());
+
+                // removed nodes are reused by other lists on the thread
+                list.subList(0, 5).clear();
+                List<Integer> other = LinkedList.recycling(1);
+                other.addAll(Arrays.asList(1, 2, 3, 4, 5, 6));
+                assertEquals(15, LinkedList.poolHits());
+                assertEquals(191, LinkedList.poolMisses());
+                assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), other);
+                assertEquals(95, list.size());
+                assertEquals(5, (int) list.get(0));
+
+                // plain lists never touch the pool
+                List<Integer> plain = new LinkedList<>();
+                plain.add(1);
+                plain.clear();
+                assertEquals(15, LinkedList.poolHits());
+                assertEquals(191, LinkedList.poolMisses());
+
+                // disposing hands every node back, up to the limit
+                LinkedList<Integer> disposed = LinkedList.recycling(1);
+                disposed.addAll(Arrays.asList(1, 2, 3));
+                disposed.dispose();
+                assertTrue(disposed.isEmpty());
+                other.addAll(Arrays.asList(7, 8, 9));
+                assertEquals(18, LinkedList.poolHits());
+            } finally {
+                LinkedList.poolLimit = limit;
+                LinkedList.resetPool();
+            }
+        }
+
+        /**
+         * Applies the same random Deque operations to java.util.LinkedList
+         * and to lists with various node capacities.
+         */
+        @Test
+        public void testDequeAgainstJavaUtil() {
+            for (int capacity : new int[]{1, 2, 5}) {
+                Random r = new Random(310 + capacity);
+                Deque<Integer> expected = new java.util.LinkedList<>();
+                Deque<Integer> actual = LinkedList.unrolled(capacity);
+                for (int step = 0; step < 3000; step++) {
+                    switch (r.nextInt(8)) {
+                        case 0:
+                        case 1:
+                            expected.addFirst(step);
+                            actual.addFirst(step);
+                            break;
+                        case 2:
+                        case 3:
+                            expected.offerLast(step);
+                            actual.offerLast(step);
+                            break;
+                        case 4:
+                            assertEquals(expected.pollFirst(), actual
+                                    .pollFirst());
+                            break;
+                        case 5:
+                            assertEquals(expected.pollLast(), actual
+                                    .pollLast());
+                            break;
+                        case 6:
+                            Integer o = r.nextInt(step + 1);
+                            assertEquals(expected.removeLastOccurrence(o),
+                                    actual.removeLastOccurrence(o));
+                            break;
+                        default:
+                            assertEquals(expected.peekFirst(), actual
+                                    .peekFirst());
+                            assertEquals(expected.peekLast(), actual
+                                    .peekLast());
+                    }
+                    assertEquals(expected.size(), actual.size());
+                }
+                List<Integer> backwards = new ArrayList<>();
+                Iterator<Integer> it = actual.descendingIterator();
+                while (it.hasNext()) {
+                    backwards.add(it.next());
+                }
+                Collections.reverse(backwards);
+                assertEquals(new ArrayList<>(expected), backwards);
+            }
+        }
+
+        @Test(expected = NoSuchElementException.class)
+        public void testRemoveFirstEmpty() {
+            new LinkedList<Integer>().removeFirst();
+        }
+
+        /**
+         * Splices lists into random places, including the middle of nodes and
+         * from lists with other node capacities, and checks against ArrayList.
+         */
+        @Test
+        public void testSplice() {
+            for (int capacity : new int[]{1, 3, 8}) {
+                Random r = new Random(310 + capacity);
+                List<Integer> expected = new ArrayList<>();
+                LinkedList<Integer> actual = LinkedList.unrolled(capacity);
+                for (int step = 0; step < 200; step++) {
+                    LinkedList<Integer> other = LinkedList.unrolled(r
+                            .nextBoolean() ? capacity : 2);
+                    for (int i = r.nextInt(10); i > 0; i--) {
+                        other.add(step * 100 + i);
+                    }
+                    int index = r.nextInt(expected.size() + 1);
+                    expected.addAll(index, other);
+                    if (index == actual.size() && r.nextBoolean()) {
+                        actual.concat(other);
+                    } else {
+                        actual.splice(index, other);
+                    }
+                    assertTrue(other.isEmpty());
+                    // the emptied list must still work
+                    other.add(1);
+                    assertEquals(Arrays.asList(1), other);
+                    if (r.nextInt(4) == 0 && !expected.isEmpty()) {
+                        int remove = r.nextInt(expected.size());
+                        assertEquals(expected.remove(remove), actual.remove(
+                                remove));
+                    }
+                }
+                assertEquals("capacity " + capacity, expected, actual);
+                assertEquals(expected.size(), actual.size());
+                for (int i = 0; i < expected.size(); i += 7) {
+                    assertEquals(expected.get(i), actual.get(i));
+                }
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void testSpliceItself() {
+            LinkedList<Integer> list = new LinkedList<>();
+            list.add(1);
+            list.concat(list);
+        }
+
+        /**
+         * Bulk inserts must leave nodes that later edits can split and merge.
+         */
+        @Test
+        public void testAddAllInMiddle() {
+            List<Integer> expected = new ArrayList<>();
+            List<Integer> actual = LinkedList.unrolled(4);
+            Random r = new Random(310);
+            for (int step = 0; step < 300; step++) {
+                List<Integer> more = new ArrayList<>();
+                for (int i = r.nextInt(20); i > 0; i--) {
+                    more.add(step * 100 + i);
+                }
+                int index = r.nextInt(expected.size() + 1);
+                assertEquals(expected.addAll(index, more), actual.addAll(index,
+                        more));
+                index = r.nextInt(expected.size() + 1);
+                expected.add(index, -step);
+                actual.add(index, -step);
+                if (expected.size() > 1) {
+                    index = r.nextInt(expected.size());
+                    assertEquals(expected.remove(index), actual.remove(index));
+                }
+            }
+            assertEquals(expected, actual);
+        }
+
+        /**
+         * Splits must cover every element exactly once, in order, and report
+         * exact sizes.
+         */
+        @Test
+        public void testSpliteratorSplits() {
+            for (int capacity : new int[]{1, 3, 16}) {
+                LinkedList<Integer> list = LinkedList.unrolled(capacity);
+                for (int i = 0; i < 1001; i++) {
+                    list.add(i);
+                }
+                // leave some nodes partly full
+                list.subList(100, 150).clear();
+                List<Integer> seen = new ArrayList<>();
+                collect(list.spliterator(), seen);
+                assertEquals(list, seen);
+            }
+        }
+
+        /**
+         * Splits a spliterator all the way down, checking its sizes, and
+         * collects the elements in order.
+         */
+        private static void collect(Spliterator<Integer> s,
+                final List<Integer> out) {
+            assertTrue(s.hasCharacteristics(Spliterator.SUBSIZED));
+            long size = s.estimateSize();
+            Spliterator<Integer> prefix = s.trySplit();
+            if (prefix == null) {
+                int before = out.size();
+                s.forEachRemaining(out::add);
+                assertEquals(size, out.size() - before);
+                return;
+            }
+            assertEquals(size, prefix.estimateSize() + s.estimateSize());
+            assertTrue(Math.abs(prefix.estimateSize() - s.estimateSize()) <= 1);
+            collect(prefix, out);
+            if (s.tryAdvance(out::add)) {
+                collect(s, out);
+            }
+        }
+
+        /**
+         * Sums 10 million elements with a parallel stream. This checks the
+         * result; how well it scales with cores is left to the benchmarks.
+         */
+        @Test(timeout = 60000)
+        public void testParallelReduction() {
+            LinkedList<Integer> list = LinkedList.unrolled(64);
+            long expected = 0;
+            for (int i = 0; i < 10000000; i++) {
+                // small values are cached so this only allocates nodes
+                list.add(i & 127);
+                expected += i & 127;
+            }
+            assertEquals(expected, list.parallelStream().mapToLong(
+                    Integer::longValue).sum());
+            assertEquals(expected, list.stream().mapToLong(Integer::longValue)
+                    .sum());
+        }
+
+        /**
+         * Threads which only read must be able to share a list even though
+         * each indexed read moves the finger.
+         */
+        @Test(timeout = 60000)
+        public void testConcurrentIndexedReads() throws Exception {
+            final List<Integer> list = LinkedList.unrolled(3);
+            for (int i = 0; i < 5000; i++) {
+                list.add(i);
+            }
+            final AtomicInteger wrong = new AtomicInteger();
+            Thread[] threads = new Thread[4];
+            for (int t = 0; t < threads.length; t++) {
+                final Random r = new Random(310 + t);
+                threads[t] = new Thread(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        for (int k = 0; k < 20000; k++) {
+                            int i = r.nextInt(list.size());
+                            if (list.get(i) != i) {
+                                wrong.incrementAndGet();
+                            }
+                        }
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(0, wrong.get());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void testUnrolledZeroCapacity() {
+            LinkedList.unrolled(0);
+        }
     }
 
     public static class GuavaTests {
@@ -59,4 +471,58 @@ public class LinkedListTest {
         }
     }
 
+
+    /**
+     * The same tests with tiny nodes so every operation splits or merges
+     */
+    public static class GuavaUnrolledTests {
+
+        public static TestSuite suite() {
+            return ListTestSuiteBuilder.using(new TestStringListGenerator() {
+
+                @Override
+                protected List<String> create(String[] strings) {
+                    List<String> list = LinkedList.unrolled(2);
+                    list.addAll(Arrays.asList(strings));
+                    return list;
+                }
+
+            })
+                    .named("Unrolled List Tests")
+                    .withFeatures(
+                            ListFeature.GENERAL_PURPOSE,
+                            CollectionFeature.ALLOWS_NULL_VALUES,
+                            CollectionSize.ANY
+                    )
+                    .createTestSuite();
+        }
+    }
+
+
+    /**
+     * The same tests with recycled nodes, which must come back empty
+     */
+    public static class GuavaRecyclingTests {
+
+        public static TestSuite suite() {
+            return ListTestSuiteBuilder.using(new TestStringListGenerator() {
+
+                @Override
+                protected List<String> create(String[] strings) {
+                    List<String> list = LinkedList.recycling(2);
+                    list.addAll(Arrays.asList(strings));
+                    return list;
+                }
+
+            })
+                    .named("Recycling List Tests")
+                    .withFeatures(
+                            ListFeature.GENERAL_PURPOSE,
+                            CollectionFeature.ALLOWS_NULL_VALUES,
+                            CollectionSize.ANY
+                    )
+                    .createTestSuite();
+        }
+    }
+
 }
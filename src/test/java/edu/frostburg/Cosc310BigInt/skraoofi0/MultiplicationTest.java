@@ -0,0 +1,408 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.Cosc310BigInt.skraoofi0;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks every multiplication algorithm against {@link BigInteger}.
+ *
+ * @author Kevin Raoofi
+ */
+public class MultiplicationTest {
+
+    private final Random r = new Random(310);
+
+    private int karatsubaThreshold;
+    private int toomThreshold;
+    private int nttThreshold;
+    private int parallelThreshold;
+    private int parallelism;
+
+    @Before
+    public void saveThresholds() {
+        karatsubaThreshold = Multiplication.karatsubaThreshold;
+        toomThreshold = Multiplication.toomThreshold;
+        nttThreshold = Multiplication.nttThreshold;
+        parallelThreshold = Multiplication.parallelThreshold;
+        parallelism = Multiplication.parallelism;
+    }
+
+    @After
+    public void restoreThresholds() {
+        Multiplication.karatsubaThreshold = karatsubaThreshold;
+        Multiplication.toomThreshold = toomThreshold;
+        Multiplication.nttThreshold = nttThreshold;
+        Multiplication.parallelThreshold = parallelThreshold;
+        Multiplication.parallelism = parallelism;
+    }
+
+    /**
+     * Creates a random decimal number with exactly the given number of digits.
+     *
+     * @param digits number of digits
+     * @return the number
+     */
+    private String randomDigits(int digits) {
+        StringBuilder sb = new StringBuilder(digits);
+        sb.append((char) ('1' + r.nextInt(9)));
+        for (int i = 1; i < digits; i++) {
+            sb.append((char) ('0' + r.nextInt(10)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Multiplies two random numbers of the given sizes with
+     * {@link Multiplication} and checks the product against BigInteger.
+     *
+     * @param aLimbs limbs in the first operand
+     * @param bLimbs limbs in the second operand
+     */
+    private void check(int aLimbs, int bLimbs) {
+        String a = randomDigits(aLimbs * Limbs.BASE_DIGITS);
+        String b = randomDigits(bLimbs * Limbs.BASE_DIGITS);
+        int[] product = Multiplication.multiply(Limbs.parse(a, 0, a.length()),
+                Limbs.parse(b, 0, b.length()));
+        assertEquals(aLimbs + " x " + bLimbs + " limbs",
+                new BigInteger(a).multiply(new BigInteger(b)).toString(),
+                Limbs.toString(product, new StringBuilder()).toString());
+    }
+
+    @Test
+    public void testSchoolbook() {
+        Multiplication.karatsubaThreshold = Integer.MAX_VALUE;
+        check(1, 1);
+        check(7, 3);
+        check(60, 60);
+    }
+
+    @Test
+    public void testKaratsubaAroundThreshold() {
+        Multiplication.karatsubaThreshold = 8;
+        for (int n = 6; n < 40; n++) {
+            check(n, n);
+            check(n, n - 1);
+            check(n + 1, n / 2 + 1);
+        }
+    }
+
+    @Test
+    public void testKaratsubaUnbalanced() {
+        Multiplication.karatsubaThreshold = 8;
+        check(300, 9);
+        check(301, 150);
+        check(257, 100);
+    }
+
+    @Test
+    public void testKaratsubaMaxLimbs() {
+        Multiplication.karatsubaThreshold = 4;
+        String nines = new String(new char[200 * Limbs.BASE_DIGITS])
+                .replace('\0', '9');
+        int[] mag = Limbs.parse(nines, 0, nines.length());
+        BigInteger expected = new BigInteger(nines).pow(2);
+        assertEquals(expected.toString(), Limbs.toString(Multiplication
+                .multiply(mag, mag), new StringBuilder()).toString());
+    }
+
+    @Test
+    public void testToomAroundThreshold() {
+        Multiplication.karatsubaThreshold = 4;
+        Multiplication.toomThreshold = 12;
+        Multiplication.nttThreshold = Integer.MAX_VALUE;
+        for (int n = 10; n < 40; n++) {
+            check(n, n);
+            check(n, n - 1);
+            // the top piece of the second operand is short or empty
+            check(n + 1, n / 2 + 1);
+            check(3 * n, 2 * n);
+        }
+    }
+
+    @Test
+    public void testToomMaxLimbs() {
+        Multiplication.karatsubaThreshold = 4;
+        Multiplication.toomThreshold = 12;
+        Multiplication.nttThreshold = Integer.MAX_VALUE;
+        String nines = new String(new char[500 * Limbs.BASE_DIGITS])
+                .replace('\0', '9');
+        int[] mag = Limbs.parse(nines, 0, nines.length());
+        BigInteger expected = new BigInteger(nines).pow(2);
+        assertEquals(expected.toString(), Limbs.toString(Multiplication
+                .multiply(mag, mag), new StringBuilder()).toString());
+    }
+
+    /**
+     * Checks the default Toom-Cook threshold from both sides. The default
+     * transform threshold is lower, so the transform has to be turned off
+     * for Toom-Cook to be reached at all, as it is for products too long for
+     * the transform.
+     */
+    @Test
+    public void testToomDefaultThreshold() {
+        Multiplication.nttThreshold = Integer.MAX_VALUE;
+        int t = Multiplication.toomThreshold;
+        check(t - 1, t - 1);
+        check(t, t);
+        check(t + 1, t);
+    }
+
+    @Test
+    public void testNttAroundThreshold() {
+        Multiplication.nttThreshold = 16;
+        for (int n = 14; n < 40; n++) {
+            check(n, n);
+            check(n + 20, n);
+        }
+        // transform lengths just above and below a power of two
+        check(512, 512);
+        check(513, 512);
+        check(1023, 1);
+    }
+
+    @Test
+    public void testNttMaxLimbs() {
+        Multiplication.nttThreshold = 16;
+        String nines = new String(new char[5000 * Limbs.BASE_DIGITS])
+                .replace('\0', '9');
+        int[] mag = Limbs.parse(nines, 0, nines.length());
+        BigInteger expected = new BigInteger(nines).pow(2);
+        assertEquals(expected.toString(), Limbs.toString(Multiplication
+                .multiply(mag, mag), new StringBuilder()).toString());
+    }
+
+    @Test
+    public void testNttLarge() {
+        Multiplication.nttThreshold = 16;
+        check(20000, 20000);
+        check(30000, 7000);
+    }
+
+    /**
+     * Multiplies two random numbers of the given sizes on one thread and in
+     * parallel, and checks that the two products are the same limbs as well
+     * as the right value.
+     *
+     * @param aLimbs limbs in the first operand
+     * @param bLimbs limbs in the second operand
+     */
+    private void checkParallel(int aLimbs, int bLimbs) {
+        String a = randomDigits(aLimbs * Limbs.BASE_DIGITS);
+        String b = randomDigits(bLimbs * Limbs.BASE_DIGITS);
+        int[] x = Limbs.parse(a, 0, a.length());
+        int[] y = Limbs.parse(b, 0, b.length());
+        Multiplication.parallelism = 1;
+        int[] sequential = Multiplication.multiply(x, y);
+        Multiplication.parallelism = 4;
+        int[] parallel = Multiplication.multiply(x, y);
+        assertArrayEquals(aLimbs + " x " + bLimbs + " limbs", sequential,
+                parallel);
+        assertEquals(aLimbs + " x " + bLimbs + " limbs",
+                new BigInteger(a).multiply(new BigInteger(b)).toString(),
+                Limbs.toString(parallel, new StringBuilder()).toString());
+    }
+
+    @Test
+    public void testParallelKaratsuba() {
+        Multiplication.karatsubaThreshold = 8;
+        Multiplication.nttThreshold = Integer.MAX_VALUE;
+        Multiplication.parallelThreshold = 16;
+        checkParallel(15, 15);
+        checkParallel(300, 300);
+        checkParallel(301, 150);
+        checkParallel(1000, 9);
+    }
+
+    @Test
+    public void testParallelToom() {
+        Multiplication.karatsubaThreshold = 4;
+        Multiplication.toomThreshold = 12;
+        Multiplication.nttThreshold = Integer.MAX_VALUE;
+        Multiplication.parallelThreshold = 16;
+        checkParallel(500, 500);
+        checkParallel(700, 400);
+    }
+
+    @Test
+    public void testParallelNtt() {
+        Multiplication.nttThreshold = 16;
+        Multiplication.parallelThreshold = 16;
+        checkParallel(100, 100);
+        // long enough for the stages of the transforms to be split
+        checkParallel(20000, 20000);
+        checkParallel(30000, 7000);
+    }
+
+    /**
+     * Changing the parallelism replaces the pool and shuts down the old one;
+     * products must keep working across the change.
+     */
+    @Test
+    public void testParallelismChanges() {
+        Multiplication.nttThreshold = 16;
+        Multiplication.parallelThreshold = 16;
+        for (int threads = 2; threads <= 4; threads++) {
+            Multiplication.parallelism = threads;
+            check(500, 400);
+            ForkJoinPool pool = Multiplication.currentPool();
+            assertEquals(threads, pool.getParallelism());
+            Multiplication.parallelism = threads + 1;
+            check(500, 400);
+            assertNotSame(pool, Multiplication.currentPool());
+            assertTrue(pool.isShutdown());
+        }
+    }
+
+    /**
+     * Products computed in parallel must be the same when many threads
+     * multiply at once and the pool is shared.
+     */
+    @Test
+    public void testParallelFromManyThreads() throws Exception {
+        Multiplication.nttThreshold = 16;
+        Multiplication.parallelThreshold = 16;
+        Multiplication.parallelism = 4;
+        String a = randomDigits(3000 * Limbs.BASE_DIGITS);
+        String b = randomDigits(2500 * Limbs.BASE_DIGITS);
+        final int[] x = Limbs.parse(a, 0, a.length());
+        final int[] y = Limbs.parse(b, 0, b.length());
+        String expected = new BigInteger(a).multiply(new BigInteger(b))
+                .toString();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<int[]>> products = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                products.add(executor.submit(() -> Multiplication.multiply(x,
+                        y)));
+            }
+            for (Future<int[]> product : products) {
+                assertEquals(expected, Limbs.toString(product.get(),
+                        new StringBuilder()).toString());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Changing the parallelism while other threads are multiplying must not
+     * shut down a pool they are still using.
+     */
+    @Test
+    public void testParallelismChangesWhileMultiplying() throws Exception {
+        Multiplication.nttThreshold = 16;
+        Multiplication.parallelThreshold = 16;
+        Multiplication.parallelism = 2;
+        String a = randomDigits(800 * Limbs.BASE_DIGITS);
+        String b = randomDigits(700 * Limbs.BASE_DIGITS);
+        final int[] x = Limbs.parse(a, 0, a.length());
+        final int[] y = Limbs.parse(b, 0, b.length());
+        final String expected = new BigInteger(a).multiply(new BigInteger(b))
+                .toString();
+        final AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> workers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                workers.add(executor.submit(() -> {
+                    int products = 0;
+                    while (!done.get()) {
+                        assertEquals(expected, Limbs.toString(
+                                Multiplication.multiply(x, y),
+                                new StringBuilder()).toString());
+                        products++;
+                    }
+                    return products;
+                }));
+            }
+            for (int i = 0; i < 200; i++) {
+                Multiplication.parallelism = 2 + i % 3;
+                Thread.sleep(1);
+            }
+            done.set(true);
+            for (Future<Integer> worker : workers) {
+                assertTrue(worker.get() > 0);
+            }
+        } finally {
+            done.set(true);
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Multiplies random operands of up to 10 million digits. Since converting
+     * numbers this large with BigInteger takes minutes, this only runs when
+     * the system property {@code edu.frostburg.bigint.longTests} is true.
+     */
+    @Test
+    public void testHugeAgainstBigInteger() {
+        Assume.assumeTrue(Boolean.getBoolean("edu.frostburg.bigint.longTests"));
+        for (int digits : new int[]{1000000, 10000000}) {
+            // enough bits for the number of digits
+            int bits = (int) (digits * 3.3219280948873626);
+            BigInteger a = new BigInteger(bits, r);
+            BigInteger b = new BigInteger(bits, r);
+            String as = a.toString();
+            String bs = b.toString();
+            BigIntArray x = new BigIntArray(as);
+            BigIntArray y = new BigIntArray(bs);
+            assertEquals(digits + " digits", a.multiply(b).toString(),
+                    x.multiply(y).toString());
+        }
+    }
+
+    @Test
+    public void testLargeDefaultThresholds() {
+        check(2000, 2000);
+        check(3000, 1100);
+    }
+
+    /**
+     * BigIntList should hand large operands to Karatsuba and still agree
+     * with the way Cosc310LLTester checks products.
+     */
+    @Test
+    public void testBigIntListKaratsuba() {
+        Multiplication.karatsubaThreshold = 4;
+        BigIntCalculator calc = new BigIntCalculator();
+        for (int i = 0; i < 20; i++) {
+            String a = randomDigits(40 + r.nextInt(200));
+            String b = randomDigits(40 + r.nextInt(200));
+            if (r.nextBoolean()) {
+                a = "-" + a;
+            }
+            if (r.nextBoolean()) {
+                b = "-" + b;
+            }
+            assertEquals(new BigInteger(a).multiply(new BigInteger(b))
+                    .toString(), calc.multiply(a, b));
+        }
+    }
+}
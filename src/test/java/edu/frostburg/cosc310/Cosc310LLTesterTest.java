@@ -0,0 +1,169 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.cosc310;
+
+import edu.frostburg.Cosc310BigInt.skraoofi0.BigIntCalculator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Checks that the parallel tester reports exactly what the sequential one
+ * does.
+ *
+ * @author Kevin Raoofi
+ */
+public class Cosc310LLTesterTest {
+
+    /**
+     * Runs a tester with the output captured.
+     *
+     * @param calc    the calculator to check
+     * @param lines   the problems
+     * @param workers the number of threads
+     * @return everything printed
+     */
+    private static String run(Cosc310BigIntCalculator calc,
+            Iterable<String> lines, int workers) {
+        PrintStream old = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured));
+        try {
+            new Cosc310LLTester(calc).testFromLines(lines, workers);
+        } finally {
+            System.setOut(old);
+        }
+        return captured.toString();
+    }
+
+    private static List<String> problems() {
+        Random r = new Random(310);
+        List<String> lines = new ArrayList<>();
+        String ops = "+-*/%";
+        for (int i = 0; i < 300; i++) {
+            // a few big ones so the workers finish out of order
+            int bits = i % 50 == 0 ? 20000 : 1 + r.nextInt(300);
+            BigInteger a = new BigInteger(bits, r);
+            BigInteger b = new BigInteger(1 + r.nextInt(200), r).add(
+                    BigInteger.ONE);
+            if (r.nextBoolean()) {
+                a = a.negate();
+            }
+            lines.add(a + " " + ops.charAt(i % ops.length()) + " " + b);
+        }
+        lines.add("1 ^ 2");
+        return lines;
+    }
+
+    @Test
+    public void testParallelMatchesSequential() {
+        List<String> lines = problems();
+        String expected = run(new BigIntCalculator(), lines, 1);
+        assertTrue(expected.contains("Completed 300 problems with 0 wrong"));
+        assertTrue(expected.contains("Don't understand 1 ^ 2"));
+        for (int workers : new int[]{2, 4, 16}) {
+            assertEquals(expected, run(new BigIntCalculator(), lines,
+                    workers));
+        }
+    }
+
+    /**
+     * The problems are pulled from an iterator which checks that only a
+     * bounded number of them are ever waiting to be reported.
+     */
+    @Test
+    public void testBoundedInFlight() {
+        final int workers = 3;
+        final List<String> lines = problems();
+        final AtomicInteger finished = new AtomicInteger();
+        final Cosc310BigIntCalculator counting = new BigIntCalculator() {
+
+            @Override
+            public String multiply(String a, String b) {
+                String result = super.multiply(a, b);
+                finished.incrementAndGet();
+                return result;
+            }
+        };
+        final List<String> multiplications = new ArrayList<>();
+        for (String line : lines) {
+            if (line.contains(" * ")) {
+                multiplications.add(line);
+            }
+        }
+        Iterable<String> watched = () -> new Iterator<String>() {
+
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < multiplications.size();
+            }
+
+            @Override
+            public String next() {
+                int pending = next - finished.get();
+                assertTrue(pending + " pending", pending
+                        <= workers * Cosc310LLTester.IN_FLIGHT_PER_WORKER);
+                return multiplications.get(next++);
+            }
+        };
+        String report = run(counting, watched, workers);
+        assertTrue(report.contains("with 0 wrong"));
+        assertEquals(multiplications.size(), finished.get());
+    }
+
+    /**
+     * Both file overloads stream the file and report the same as checking
+     * the lines directly.
+     */
+    @Test
+    public void testFromFileMatchesLines() throws IOException {
+        List<String> lines = problems();
+        String expected = run(new BigIntCalculator(), lines, 1);
+        Path file = Files.createTempFile("problems", ".txt");
+        PrintStream old = System.out;
+        try {
+            Files.write(file, lines);
+            for (int workers : new int[]{0, 1, 3}) {
+                ByteArrayOutputStream captured = new ByteArrayOutputStream();
+                System.setOut(new PrintStream(captured));
+                Cosc310LLTester tester = new Cosc310LLTester(
+                        new BigIntCalculator());
+                if (workers == 0) {
+                    tester.testFromFile(file.toString());
+                } else {
+                    tester.testFromFile(file.toString(), workers);
+                }
+                System.setOut(old);
+                assertEquals(expected, captured.toString());
+            }
+        } finally {
+            System.setOut(old);
+            Files.delete(file);
+        }
+    }
+}
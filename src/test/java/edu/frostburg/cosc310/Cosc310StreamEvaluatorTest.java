@@ -0,0 +1,152 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.cosc310;
+
+import edu.frostburg.Cosc310BigInt.skraoofi0.BigIntCalculator;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Checks the streaming evaluator.
+ *
+ * @author Kevin Raoofi
+ */
+public class Cosc310StreamEvaluatorTest {
+
+    private final Cosc310StreamEvaluator evaluator
+            = new Cosc310StreamEvaluator(new BigIntCalculator());
+
+    @Test
+    public void testEvaluate() throws IOException {
+        String problems = "12 + 30\n"
+                + "  -5   *  7 \n"
+                + "\n"
+                + "100 / -7\n"
+                + "100 % -7\n"
+                + "1 - 99999999999999999999\n"
+                + "1 / 0\n"
+                + "1 ^ 2\n"
+                + "12x + 1\n"
+                + "nonsense\n";
+        StringWriter out = new StringWriter();
+        long count = evaluator.evaluate(new BufferedReader(new StringReader(
+                problems)), out);
+        assertEquals(9, count);
+        String[] results = out.toString().split("\n");
+        assertEquals(9, results.length);
+        assertEquals("42", results[0]);
+        assertEquals("-35", results[1]);
+        assertEquals("-14", results[2]);
+        assertEquals("2", results[3]);
+        assertEquals("-99999999999999999998", results[4]);
+        for (int i = 5; i < 9; i++) {
+            assertTrue(results[i], results[i].startsWith("error: "));
+        }
+    }
+
+    /**
+     * Feeds problems from a reader which makes them up as it goes, so they
+     * are never all in memory at once.
+     */
+    @Test
+    public void testStreamsLargeInput() throws IOException {
+        final int problems = 200000;
+        Reader generated = new Reader() {
+
+            private int line;
+            private String current = "";
+            private int pos;
+
+            @Override
+            public int read(char[] cbuf, int off, int len) {
+                if (pos == current.length()) {
+                    if (line == problems) {
+                        return -1;
+                    }
+                    current = line + " * " + (line + 1) + "\n";
+                    line++;
+                    pos = 0;
+                }
+                int n = Math.min(len, current.length() - pos);
+                current.getChars(pos, pos + n, cbuf, off);
+                pos += n;
+                return n;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        final long[] checked = {0};
+        StringWriter out = new StringWriter() {
+
+            private long line;
+
+            @Override
+            public void write(String str) {
+                assertEquals(BigInteger.valueOf(line).multiply(BigInteger
+                        .valueOf(line + 1)).toString(), str);
+                line++;
+                checked[0]++;
+            }
+
+            @Override
+            public void write(int c) {
+                assertEquals('\n', c);
+            }
+        };
+        assertEquals(problems, evaluator.evaluate(new BufferedReader(
+                generated), out));
+        assertEquals(problems, checked[0]);
+    }
+
+    /**
+     * Evaluating from standard input to standard output must leave both
+     * open for whatever prints afterwards.
+     */
+    @Test
+    public void testEvaluateLeavesStandardStreamsOpen() throws IOException {
+        InputStream oldIn = System.in;
+        PrintStream oldOut = System.out;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, false, "US-ASCII");
+        try {
+            System.setIn(new ByteArrayInputStream("2 * 21\n".getBytes(
+                    StandardCharsets.US_ASCII)));
+            System.setOut(out);
+            CoscLLProgram.evaluate(evaluator, "-", "-");
+            System.out.println("after");
+            System.out.flush();
+        } finally {
+            System.setIn(oldIn);
+            System.setOut(oldOut);
+        }
+        assertFalse(out.checkError());
+        assertEquals("42\nafter", bytes.toString("US-ASCII").trim()
+                .replace(System.lineSeparator(), "\n"));
+    }
+}
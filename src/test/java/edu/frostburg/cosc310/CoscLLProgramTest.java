@@ -0,0 +1,67 @@
+/*
+ * Copyright 2014 Kevin Raoofi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package edu.frostburg.cosc310;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Checks the command line handling of {@link CoscLLProgram}.
+ *
+ * @author Kevin Raoofi
+ */
+public class CoscLLProgramTest {
+
+    /**
+     * Runs the program and collects what it prints to standard error.
+     *
+     * @param args the command line arguments
+     * @return everything printed to standard error
+     * @throws IOException if the program throws it
+     */
+    private static String errors(String... args) throws IOException {
+        PrintStream oldErr = System.err;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            System.setErr(new PrintStream(bytes, true, "US-ASCII"));
+            CoscLLProgram.main(args);
+        } finally {
+            System.setErr(oldErr);
+        }
+        return bytes.toString("US-ASCII");
+    }
+
+    @Test
+    public void testEvaluateWithoutOutput() throws IOException {
+        assertTrue(errors("--evaluate", "in").contains("Usage"));
+        assertTrue(errors("--evaluate").contains("Usage"));
+    }
+
+    @Test
+    public void testBadThreadCount() throws IOException {
+        String errors = errors("problems.txt", "many");
+        assertTrue(errors, errors.contains("Not a number of threads: many"));
+        assertTrue(errors("problems.txt", "0").contains("Usage"));
+    }
+
+    @Test
+    public void testTooManyArguments() throws IOException {
+        assertTrue(errors("a", "b", "c", "d").contains("Usage"));
+    }
+}